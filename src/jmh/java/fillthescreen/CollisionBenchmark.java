@@ -0,0 +1,90 @@
+package fillthescreen;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Bullets at FAST_BULLET_SPEED against the world's enemy grid: the swept
+// test GameWorld uses versus discrete overlap checks at N points along
+// each step. Fewer substeps are cheaper but let bullets pass through
+// 20 px enemies.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class CollisionBenchmark {
+    static final int FAST_BULLET_SPEED = 40;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int count;
+
+    GameWorld world;
+    Bullet[] bullets;
+
+    @Setup
+    public void populate() {
+        world = Scenes.populatedWorld(count);
+        Random random = new Random(Scenes.SEED);
+        bullets = new Bullet[count];
+        for (int i = 0; i < count; i++) {
+            bullets[i] = new Bullet(random.nextInt(world.screenWidth), random.nextInt(world.screenHeight),
+                                    random.nextDouble() * Math.PI * 2, FAST_BULLET_SPEED);
+            bullets[i].update();
+        }
+        world.buildEnemyGrid();
+    }
+
+    @Benchmark
+    public int swept() {
+        int hits = 0;
+        for (Bullet b : bullets) {
+            if (world.firstBulletHit(b) >= 0) hits++;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int substep1() {
+        return substepHits(1);
+    }
+
+    @Benchmark
+    public int substep2() {
+        return substepHits(2);
+    }
+
+    @Benchmark
+    public int substep4() {
+        return substepHits(4);
+    }
+
+    @Benchmark
+    public int substep8() {
+        return substepHits(8);
+    }
+
+    // Stops at the first substep that overlaps anything, boss included
+    private int substepHits(int substeps) {
+        SpatialGrid grid = world.enemyGrid;
+        EnemyStore enemies = world.enemies;
+        int hits = 0;
+        for (Bullet b : bullets) {
+            boolean hit = false;
+            for (int s = 1; s <= substeps && !hit; s++) {
+                int px = b.prevX + (b.x - b.prevX) * s / substeps, py = b.prevY + (b.y - b.prevY) * s / substeps;
+                int candidates = grid.query(px, py, GameWorld.BULLET_SIZE, GameWorld.BULLET_SIZE);
+                for (int k = 0; k < candidates && !hit; k++) {
+                    int id = grid.result(k);
+                    hit = id < enemies.size()
+                        ? Bullet.collidesAt(px, py, enemies.x[id], enemies.y[id], enemies.width, enemies.height)
+                        : Bullet.collidesAt(px, py, world.boss);
+                }
+            }
+            if (hit) hits++;
+        }
+        return hits;
+    }
+}
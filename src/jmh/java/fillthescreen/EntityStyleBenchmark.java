@@ -0,0 +1,41 @@
+package fillthescreen;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Graphics2D;
+import java.util.concurrent.TimeUnit;
+
+// Entity drawing per style: an oval pair per entity, sprites, batched paths
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class EntityStyleBenchmark {
+    @Param({"1000", "10000"})
+    public int count;
+
+    @Param({"VECTOR", "SPRITE", "BATCHED"})
+    public String style;
+
+    GameWorld world;
+    Graphics2D g2d;
+
+    @Setup
+    public void populate() {
+        world = Scenes.populatedWorld(count);
+        g2d = Scenes.canvas();
+        GameRenderer.entityStyle = GameRenderer.EntityStyle.valueOf(style);
+    }
+
+    @Benchmark
+    public void drawBullets() {
+        GameRenderer.drawBullets(g2d, world.bullets, RenderBenchmark.BULLET_COLOR, GameWorld.BULLET_SIZE, 1f);
+    }
+
+    @Benchmark
+    public void drawEnemies() {
+        GameRenderer.drawEnemies(g2d, world.enemies, RenderBenchmark.ENEMY_COLOR, 1f);
+    }
+}
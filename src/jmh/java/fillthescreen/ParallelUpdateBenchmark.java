@@ -0,0 +1,33 @@
+package fillthescreen;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// updateEnemies on the fork-join pool versus the serial path
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ParallelUpdateBenchmark {
+    @Param({"1000", "10000", "50000"})
+    public int count;
+
+    @Param({"serial", "parallel"})
+    public String mode;
+
+    GameWorld world;
+
+    @Setup(Level.Invocation)
+    public void populate() {
+        world = Scenes.populatedWorld(count);
+        world.parallelThreshold = mode.equals("parallel") ? 0 : Integer.MAX_VALUE;
+    }
+
+    @Benchmark
+    public void updateEnemies() {
+        world.updateEnemies();
+    }
+}
@@ -0,0 +1,64 @@
+package fillthescreen;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.util.concurrent.TimeUnit;
+
+// Entity drawing at 10 to 10,000 entities into an offscreen image, with
+// Java2D and with the int[] software raster
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RenderBenchmark {
+    static final Color BULLET_COLOR = new Color(255, 255, 255, 200);
+    static final Color ENEMY_COLOR = new Color(GameWorld.ENEMY_RGB);
+    static final Color GRID_COLOR = new Color(30, 30, 40);
+
+    @Param({"10", "100", "1000", "10000"})
+    public int count;
+
+    GameWorld world;
+    Graphics2D g2d;
+
+    @Setup
+    public void populate() {
+        world = Scenes.populatedWorld(count);
+        g2d = Scenes.canvas();
+        SoftwareRenderer.begin(GameWorld.MAX_WIDTH, GameWorld.MAX_HEIGHT, GRID_COLOR);
+    }
+
+    @Benchmark
+    public void drawParticles() {
+        GameRenderer.drawParticles(g2d, world.particles);
+    }
+
+    @Benchmark
+    public void drawBullets() {
+        GameRenderer.drawBullets(g2d, world.bullets, BULLET_COLOR, GameWorld.BULLET_SIZE, 1f);
+    }
+
+    @Benchmark
+    public void drawEnemies() {
+        GameRenderer.drawEnemies(g2d, world.enemies, ENEMY_COLOR, 1f);
+    }
+
+    @Benchmark
+    public void rasterDrawParticles() {
+        SoftwareRenderer.drawParticles(world.particles);
+    }
+
+    @Benchmark
+    public void rasterDrawBullets() {
+        SoftwareRenderer.drawBullets(world.bullets, BULLET_COLOR, GameWorld.BULLET_SIZE, 1f);
+    }
+
+    @Benchmark
+    public void rasterDrawEnemies() {
+        SoftwareRenderer.drawEnemies(world.enemies, ENEMY_COLOR, 1f);
+    }
+}
@@ -0,0 +1,40 @@
+package fillthescreen;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+// Seeded worlds and an offscreen canvas shared by the benchmarks, so every
+// fork measures the same scene
+class Scenes {
+    static final long SEED = 42L;
+
+    // World with count enemies, bullets and particles scattered over a
+    // full-size screen, plus the boss in the middle
+    static GameWorld populatedWorld(int count) {
+        Random random = new Random(SEED);
+        GameWorld world = new GameWorld(SEED);
+        world.start();
+        world.screenWidth = GameWorld.MAX_WIDTH - 15;
+        world.screenHeight = GameWorld.MAX_HEIGHT - 10;
+        for (int i = 0; i < count; i++) {
+            world.enemies.add(random.nextInt(world.screenWidth), random.nextInt(world.screenHeight));
+            world.bullets.add(new Bullet(random.nextInt(world.screenWidth), random.nextInt(world.screenHeight),
+                                         random.nextDouble() * Math.PI * 2, GameWorld.BULLET_SPEED));
+        }
+        for (int i = 0; i < count; i++) {
+            world.particles.spawn(random.nextInt(world.screenWidth), random.nextInt(world.screenHeight),
+                                  GameWorld.ENEMY_RGB, random);
+        }
+        world.boss = new Boss(world.screenWidth / 2, world.screenHeight / 2, GameWorld.BOSS_SIZE, GameWorld.BOSS_SIZE);
+        return world;
+    }
+
+    static Graphics2D canvas() {
+        BufferedImage image = new BufferedImage(GameWorld.MAX_WIDTH, GameWorld.MAX_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        return g2d;
+    }
+}
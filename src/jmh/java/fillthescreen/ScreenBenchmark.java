@@ -0,0 +1,91 @@
+package fillthescreen;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// The draw calls whose cost doesn't depend on the entity count: background,
+// player, boss, HUD and the full-screen menus, plus the raster's clear and blit
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ScreenBenchmark {
+    static final int W = GameWorld.MAX_WIDTH, H = GameWorld.MAX_HEIGHT;
+    static final Color BOSS_COLOR = new Color(GameWorld.BOSS_RGB);
+
+    GameWorld world;
+    Graphics2D g2d;
+    final Rectangle button = new Rectangle(300, 300, 200, 50);
+    final Point mouse = new Point(400, 100);
+    final Random menuRandom = new Random(Scenes.SEED);
+
+    @Setup
+    public void populate() {
+        world = Scenes.populatedWorld(0);
+        g2d = Scenes.canvas();
+        SoftwareRenderer.begin(W, H, RenderBenchmark.GRID_COLOR);
+    }
+
+    @Benchmark
+    public void drawBackground() {
+        GameRenderer.drawBackground(g2d, W, H, RenderBenchmark.GRID_COLOR);
+    }
+
+    @Benchmark
+    public void drawPlayer() {
+        GameRenderer.drawPlayer(g2d, world.player, Color.WHITE, GameWorld.PLAYER_SIZE);
+    }
+
+    @Benchmark
+    public void drawBoss() {
+        GameRenderer.drawBoss(g2d, world.boss, BOSS_COLOR, 100, GameWorld.BOSS_HEALTH, GameWorld.BOSS_SIZE, 1f);
+    }
+
+    @Benchmark
+    public void drawHUD() {
+        GameRenderer.drawHUD(g2d, 150, GameWorld.PLAYER_MAX_HEALTH, 1234, 0L, W, H, W, H);
+    }
+
+    @Benchmark
+    public void drawAimingArrow() {
+        GameRenderer.drawAimingArrow(g2d, world.player, mouse, GameWorld.PLAYER_SIZE);
+    }
+
+    @Benchmark
+    public void drawPauseScreen() {
+        GameRenderer.drawPauseScreen(g2d, W, H);
+    }
+
+    @Benchmark
+    public void drawWinScreen() {
+        GameRenderer.drawWinScreen(g2d, W, H, 1234, 0L, 2000, false, 5);
+    }
+
+    @Benchmark
+    public void drawGameOverScreen() {
+        GameRenderer.drawGameOverScreen(g2d, W, H, 1234, 0L, 2000, false);
+    }
+
+    @Benchmark
+    public void drawMainMenu() {
+        GameRenderer.drawMainMenu(g2d, W, H, button, button, menuRandom);
+    }
+
+    @Benchmark
+    public void rasterBegin() {
+        SoftwareRenderer.begin(W, H, RenderBenchmark.GRID_COLOR);
+    }
+
+    @Benchmark
+    public void rasterBlit() {
+        SoftwareRenderer.blit(g2d);
+    }
+}
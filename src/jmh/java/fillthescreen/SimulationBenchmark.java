@@ -0,0 +1,46 @@
+package fillthescreen;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// One simulation system for one tick at 10 to 10,000 entities. Each step
+// changes the world it runs on, so every invocation gets a freshly populated
+// one; at the smallest counts the step is close to the timer resolution.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SimulationBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int count;
+
+    GameWorld world;
+
+    @Setup(Level.Invocation)
+    public void populate() {
+        world = Scenes.populatedWorld(count);
+    }
+
+    @Benchmark
+    public void updateBullets() {
+        world.updateBullets();
+    }
+
+    @Benchmark
+    public void updateEnemies() {
+        world.updateEnemies();
+    }
+
+    @Benchmark
+    public void updateParticles() {
+        world.updateParticles();
+    }
+
+    @Benchmark
+    public void spawnEnemies() {
+        world.spawnEnemies();
+    }
+}
@@ -0,0 +1,68 @@
+package fillthescreen;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// SaveState encoding and decoding in memory, and the file round trip
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SnapshotBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int count;
+
+    GameWorld world, target;
+    ByteBuffer buffer, encoded;
+    Path file;
+
+    @Setup
+    public void populate() throws IOException {
+        world = Scenes.populatedWorld(count);
+        target = new GameWorld(Scenes.SEED);
+        buffer = SaveState.ensureCapacity(null, world);
+        encoded = SaveState.encode(world);
+        file = Files.createTempFile("snapshot", ".ftss");
+        SaveState.writeFile(encoded.duplicate(), file);
+    }
+
+    @TearDown
+    public void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int write() {
+        buffer.clear();
+        SaveState.write(world, buffer);
+        return buffer.position();
+    }
+
+    @Benchmark
+    public long read() throws IOException {
+        encoded.rewind();
+        SaveState.read(encoded, target);
+        return target.tickCount;
+    }
+
+    // Encode into the reused buffer, then one channel write
+    @Benchmark
+    public void save() throws IOException {
+        buffer.clear();
+        SaveState.write(world, buffer);
+        SaveState.writeFile(buffer.flip(), file);
+    }
+
+    @Benchmark
+    public long load() throws IOException {
+        SaveState.load(file, target);
+        return target.tickCount;
+    }
+}
@@ -0,0 +1,33 @@
+package fillthescreen;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Moving 5k enemies one tick towards a target with each steering mode
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SteeringBenchmark {
+    static final int COUNT = 5000;
+
+    @Param({"TRIG", "NORMALIZE", "FAST_INVERSE_SQRT"})
+    public String steering;
+
+    EnemyStore enemies;
+    Steering mode;
+
+    @Setup
+    public void populate() {
+        enemies = Scenes.populatedWorld(COUNT).enemies;
+        mode = Steering.valueOf(steering);
+    }
+
+    @Benchmark
+    public void move() {
+        enemies.move(0, enemies.size(), 683, 384, GameWorld.ENEMY_SPEED, mode);
+    }
+}
@@ -0,0 +1,78 @@
+package fillthescreen;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+// Active rendering into a Canvas BufferStrategy. Frames are drawn and shown
+// by whichever thread calls present (normally the game loop) instead of
+// being queued through Swing's repaint manager. Page flipping is requested
+// and silently downgraded to blitting where the device can't flip.
+class ActiveRenderer {
+    interface Painter {
+        void paintFrame(Graphics2D g2d);
+    }
+
+    final Canvas canvas;
+    private final Painter painter;
+    private BufferStrategy strategy;
+    private boolean pageFlipping = false;
+
+    // Flush the window system after every show, which paces presentation
+    // to the display on platforms where flips don't already wait for it
+    volatile boolean sync = false;
+
+    public ActiveRenderer(Painter painter, Color background) {
+        this.painter = painter;
+        canvas = new Canvas() {
+            // System and software paint requests (expose, menus) also go through present
+            @Override
+            public void paint(Graphics g) {
+                present();
+            }
+
+            @Override
+            public void update(Graphics g) {
+                present();
+            }
+        };
+        canvas.setBackground(background);
+    }
+
+    public synchronized boolean isPageFlipping() {
+        return pageFlipping;
+    }
+
+    // Draws and shows one frame, returns false if the canvas can't be drawn to yet
+    public synchronized boolean present() {
+        if (!canvas.isDisplayable() || canvas.getWidth() <= 0 || canvas.getHeight() <= 0) return false;
+        if (strategy == null) createStrategy();
+
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    g2d.setColor(canvas.getBackground());
+                    g2d.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+                    painter.paintFrame(g2d);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+            if (sync) Toolkit.getDefaultToolkit().sync();
+        } while (strategy.contentsLost());
+        return true;
+    }
+
+    private void createStrategy() {
+        BufferCapabilities flipping = new BufferCapabilities(new ImageCapabilities(true), new ImageCapabilities(true),
+                                                             BufferCapabilities.FlipContents.UNDEFINED);
+        try {
+            canvas.createBufferStrategy(2, flipping);
+        } catch (AWTException e) {
+            canvas.createBufferStrategy(2);
+        }
+        strategy = canvas.getBufferStrategy();
+        pageFlipping = strategy.getCapabilities().isPageFlipping();
+    }
+}
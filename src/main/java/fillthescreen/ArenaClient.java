@@ -0,0 +1,104 @@
+package fillthescreen;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+// Client end of an ArenaServer connection. Keeps the last HISTORY decoded
+// snapshots so the server's delta baselines can be resolved, and acknowledges
+// the newest one with every input it sends. Non-blocking after connect, so
+// many clients can share one selector (see NetBenchmark).
+class ArenaClient {
+    static final int MAX_SNAPSHOT_FRAME = 1 << 24;
+
+    final SocketChannel channel;
+    int id = -1;
+    private final ArenaSnapshot[] received = new ArenaSnapshot[ArenaServer.HISTORY];
+    private ArenaSnapshot latest;
+    private ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+    private final ByteBuffer out = ByteBuffer.allocate(256);
+
+    long bytesReceived = 0;
+    long snapshots = 0;
+
+    public ArenaClient(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.configureBlocking(false);
+        for (int i = 0; i < received.length; i++) received[i] = new ArenaSnapshot();
+    }
+
+    // Newest decoded snapshot, null before the first one
+    public ArenaSnapshot latest() {
+        return latest;
+    }
+
+    // Reads what arrived and decodes every complete frame. Returns true when
+    // a new snapshot came in; a frame failing to decode throws.
+    public boolean read() throws IOException {
+        int n = channel.read(in);
+        if (n < 0) throw new IOException("Server closed the connection");
+        bytesReceived += n;
+        boolean updated = false;
+        in.flip();
+        while (in.remaining() >= 5) {
+            int length = in.getInt(in.position());
+            if (length < 1 || length > MAX_SNAPSHOT_FRAME) throw new IOException("Bad frame length " + length);
+            if (in.remaining() < 4 + length) break;
+            int end = in.position() + 4 + length;
+            in.position(in.position() + 4);
+            byte type = in.get();
+            if (type == ArenaServer.WELCOME) {
+                id = (int) VarInt.read(in);
+            } else if (type == ArenaServer.SNAPSHOT) {
+                decodeSnapshot(in.slice().limit(end - in.position()));
+                updated = true;
+            }
+            in.position(end);
+        }
+        in.compact();
+        if (!in.hasRemaining()) {
+            ByteBuffer larger = ByteBuffer.allocate(in.capacity() * 2);
+            in.flip();
+            in = larger.put(in);
+        }
+        return updated;
+    }
+
+    private void decodeSnapshot(ByteBuffer frame) throws IOException {
+        long baselineTick = ArenaSnapshot.peekBaseline(frame);
+        ArenaSnapshot baseline = baselineTick >= 0 ? received[(int) (baselineTick % received.length)] : null;
+        // The frame's own tick slot differs from its baseline's, the server only
+        // uses baselines less than HISTORY ticks old
+        ArenaSnapshot target = received[(int) (peekTick(frame) % received.length)];
+        target.decode(frame, baseline);
+        latest = target;
+        snapshots++;
+    }
+
+    private static long peekTick(ByteBuffer frame) throws IOException {
+        return VarInt.read(frame.duplicate());
+    }
+
+    // Sends one input frame acknowledging the newest snapshot
+    public void sendInput(GameInput input) throws IOException {
+        out.clear();
+        out.putInt(0).put(ArenaServer.INPUT);
+        VarInt.write(out, latest != null ? latest.tick + 1 : 0);
+        out.put((byte) InputRecorder.keyBits(input));
+        VarInt.writeSigned(out, input.aimX);
+        VarInt.writeSigned(out, input.aimY);
+        out.putInt(0, out.position() - 4);
+        out.flip();
+        // Inputs are tiny, a full socket buffer means the server is gone or stalled
+        while (out.hasRemaining()) {
+            if (channel.write(out) == 0) throw new IOException("Server is not reading input");
+        }
+    }
+
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,320 @@
+package fillthescreen;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+// Authoritative server for a shared arena. One thread runs a non-blocking
+// selector loop and steps the GameWorld at the fixed tick in between. The
+// first client to connect plays the host avatar, everyone after it joins as a
+// Guest. When a match ends its final state is sent for INTERMISSION_TICKS,
+// then the next one starts with everyone still in it.
+//
+// Messages are framed as int length, type byte, payload:
+//   WELCOME   server -> client  varint player id
+//   SNAPSHOT  server -> client  ArenaSnapshot delta
+//   INPUT     client -> server  varint acknowledged tick + 1, key bits byte
+//                               (InputRecorder.KEY_*), zig-zag aimX and aimY
+// Each snapshot is encoded against the newest tick the client acknowledged,
+// if it is still in the HISTORY ring, and in full otherwise.
+//
+//   java -cp target/classes fillthescreen.ArenaServer [--port 7777] [--seed 1]
+class ArenaServer implements Runnable {
+    static final byte WELCOME = 1, SNAPSHOT = 2, INPUT = 3;
+    static final int HISTORY = 64;                      // ticks kept as delta baselines
+    static final int MAX_PENDING_BYTES = 256 * 1024;    // beyond this a slow client skips snapshots
+    static final int MAX_INPUT_FRAME = 64;
+    static final int INTERMISSION_TICKS = 3000 / GameWorld.TICK_MILLIS; // the game over screen, about 3 s
+
+    static class Connection {
+        final SocketChannel channel;
+        final int id;
+        Guest guest; // null for the host
+        final ByteBuffer in = ByteBuffer.allocate(256);
+        ByteBuffer out = ByteBuffer.allocateDirect(16 * 1024);
+        long ack = -1;
+
+        Connection(SocketChannel channel, int id) {
+            this.channel = channel;
+            this.id = id;
+        }
+    }
+
+    private final GameWorld world;
+    private final GameInput hostInput = new GameInput();
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final ArenaSnapshot[] history = new ArenaSnapshot[HISTORY];
+    private final ArrayList<Connection> connections = new ArrayList<>();
+    private Connection host;
+    private long seed;
+    private long tick = 0; // keeps counting across matches so baselines stay unique
+    private int intermission = 0; // ticks since the match ended
+    private int nextPlayerId = 1;
+    private volatile boolean running = true;
+
+    // Measurements since the last resetStats, guarded by this
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    private long measuredTicks, bytesSent, fullSnapshots, skippedSnapshots;
+
+    public ArenaServer(int port, long seed) throws IOException {
+        this.seed = seed;
+        world = new GameWorld(seed);
+        world.start(seed);
+        for (int i = 0; i < HISTORY; i++) history[i] = new ArenaSnapshot();
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public int port() {
+        return server.socket().getLocalPort();
+    }
+
+    public void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        long nextTick = System.nanoTime();
+        try {
+            while (running) {
+                long wait = nextTick - System.nanoTime();
+                if (wait > 0) {
+                    selector.select(Math.max(1, wait / 1_000_000));
+                } else {
+                    selector.selectNow();
+                }
+                handleKeys();
+
+                long now = System.nanoTime();
+                if (now - nextTick >= 0) {
+                    tick();
+                    nextTick += GameLoop.TICK_NANOS;
+                    // After a long stall drop the missed ticks instead of bursting through them
+                    if (now - nextTick > 5 * GameLoop.TICK_NANOS) nextTick = now;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Arena server stopped: " + e.getMessage());
+        } finally {
+            for (Connection c : new ArrayList<>(connections)) disconnect(c);
+            try {
+                server.close();
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void handleKeys() throws IOException {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) continue;
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            Connection c = (Connection) key.attachment();
+            try {
+                if (key.isReadable()) read(c);
+                if (key.isValid() && key.isWritable()) flush(c);
+            } catch (IOException | BufferUnderflowException e) {
+                disconnect(c);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Connection c = new Connection(channel, nextPlayerId++);
+        if (host == null) {
+            host = c;
+            hostInput.clear();
+        } else {
+            c.guest = world.addGuest();
+            c.guest.id = c.id;
+        }
+        connections.add(c);
+        channel.register(selector, SelectionKey.OP_READ, c);
+
+        int start = beginFrame(c, WELCOME, 16);
+        VarInt.write(c.out, c.id);
+        endFrame(c, start);
+        flush(c);
+    }
+
+    private void disconnect(Connection c) {
+        connections.remove(c);
+        if (c == host) {
+            host = null;
+            hostInput.clear();
+        } else if (c.guest != null) {
+            world.removeGuest(c.guest);
+        }
+        try {
+            c.channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    // Reads what arrived and applies every complete input frame
+    private void read(Connection c) throws IOException {
+        if (c.channel.read(c.in) < 0) throw new IOException("Connection closed");
+        c.in.flip();
+        while (c.in.remaining() >= 5) {
+            int length = c.in.getInt(c.in.position());
+            if (length < 1 || length > MAX_INPUT_FRAME) throw new IOException("Bad frame length " + length);
+            if (c.in.remaining() < 4 + length) break;
+            int end = c.in.position() + 4 + length;
+            c.in.position(c.in.position() + 4);
+            if (c.in.get() == INPUT) applyInput(c, c.in);
+            c.in.position(end);
+        }
+        c.in.compact();
+    }
+
+    private void applyInput(Connection c, ByteBuffer in) throws IOException {
+        c.ack = VarInt.read(in) - 1;
+        int bits = in.get();
+        GameInput input = c == host ? hostInput : c.guest.input;
+        input.up = (bits & InputRecorder.KEY_UP) != 0;
+        input.down = (bits & InputRecorder.KEY_DOWN) != 0;
+        input.left = (bits & InputRecorder.KEY_LEFT) != 0;
+        input.right = (bits & InputRecorder.KEY_RIGHT) != 0;
+        input.aimX = (int) VarInt.readSigned(in);
+        input.aimY = (int) VarInt.readSigned(in);
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        if (world.running) {
+            world.step(hostInput);
+        } else if (++intermission > INTERMISSION_TICKS) {
+            nextMatch();
+        }
+        tick++;
+
+        ArenaSnapshot snapshot = history[(int) (tick % HISTORY)];
+        snapshot.capture(world, tick, host != null ? host.id : 0);
+        long sent = 0;
+        int fulls = 0, skipped = 0;
+        for (int i = connections.size() - 1; i >= 0; i--) {
+            Connection c = connections.get(i);
+            if (c.out.position() > MAX_PENDING_BYTES) {
+                // Not draining; it resumes from its last acknowledged tick once it does
+                skipped++;
+                continue;
+            }
+            ArenaSnapshot baseline = baselineFor(c);
+            int frame = beginFrame(c, SNAPSHOT, snapshot.maxEncodedBytes(baseline));
+            snapshot.encode(baseline, c.out);
+            endFrame(c, frame);
+            sent += c.out.position() - frame;
+            if (baseline == null) fulls++;
+            try {
+                flush(c);
+            } catch (IOException e) {
+                disconnect(c);
+            }
+        }
+
+        synchronized (this) {
+            tickTimes.record(System.nanoTime() - start);
+            measuredTicks++;
+            bytesSent += sent;
+            fullSnapshots += fulls;
+            skippedSnapshots += skipped;
+        }
+    }
+
+    // Entity ids start over with every match, so no snapshot of the last one
+    // may serve as a baseline; everyone gets the new match's first tick in full
+    private void nextMatch() {
+        world.start(++seed);
+        intermission = 0;
+        for (ArenaSnapshot snapshot : history) snapshot.tick = -1;
+    }
+
+    private ArenaSnapshot baselineFor(Connection c) {
+        if (c.ack < 0 || tick - c.ack >= HISTORY) return null;
+        ArenaSnapshot baseline = history[(int) (c.ack % HISTORY)];
+        return baseline.tick == c.ack ? baseline : null;
+    }
+
+    // Reserves the length and type of a frame with room for maxPayload bytes,
+    // returns where it starts
+    private static int beginFrame(Connection c, byte type, int maxPayload) {
+        if (c.out.remaining() < 5 + maxPayload) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(c.out.capacity() * 2, c.out.position() + 5 + maxPayload));
+            c.out.flip();
+            c.out = larger.put(c.out);
+        }
+        int start = c.out.position();
+        c.out.position(start + 4);
+        c.out.put(type);
+        return start;
+    }
+
+    private static void endFrame(Connection c, int start) {
+        c.out.putInt(start, c.out.position() - start - 4);
+    }
+
+    // Writes as much as the socket takes and waits for OP_WRITE for the rest
+    private void flush(Connection c) throws IOException {
+        c.out.flip();
+        c.channel.write(c.out);
+        c.out.compact();
+        SelectionKey key = c.channel.keyFor(selector);
+        if (key != null && key.isValid()) {
+            key.interestOps(c.out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+    }
+
+    public synchronized void resetStats() {
+        tickTimes.reset();
+        measuredTicks = bytesSent = fullSnapshots = skippedSnapshots = 0;
+    }
+
+    public synchronized long measuredTicks() {
+        return measuredTicks;
+    }
+
+    // One line of tick time and traffic since resetStats
+    public synchronized String stats(int clients) {
+        long ticks = Math.max(1, measuredTicks);
+        return String.format("%7d %8d %10.1f %10.1f %10.1f %12.0f %12.0f %8d %8d",
+                             clients, measuredTicks, tickTimes.mean() / 1e3, tickTimes.percentile(0.5) / 1e3,
+                             tickTimes.percentile(0.99) / 1e3, (double) bytesSent / ticks,
+                             (double) bytesSent / ticks / Math.max(1, clients), fullSnapshots, skippedSnapshots);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 7777;
+        long seed = System.nanoTime();
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--port")) port = Integer.parseInt(args[++i]);
+            else if (args[i].equals("--seed")) seed = Long.parseLong(args[++i]);
+        }
+        ArenaServer server = new ArenaServer(port, seed);
+        System.out.println("Arena server listening on port " + server.port());
+        server.run();
+    }
+}
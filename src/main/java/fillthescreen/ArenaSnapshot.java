@@ -0,0 +1,329 @@
+package fillthescreen;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// What a client sees of one arena tick: the shared header, every player,
+// and the id and position of every bullet and enemy. Bullets and enemies are
+// kept as parallel arrays sorted by id (the world hands out ids in order and
+// its lists keep that order), so two snapshots diff with one merge walk.
+//
+// Encoded against a baseline the client has acknowledged, each entity list is
+//   removed   varint count, then id gaps of baseline entries that are gone
+//   moved     varint count, then for each: varint number of unchanged
+//             survivors skipped, zig-zag varint dx and dy from the baseline
+//   added     varint count, then for each: varint id gap, zig-zag x and y
+// Without a baseline every entity is added. Header and players are small and
+// always sent in full.
+class ArenaSnapshot {
+    // Header flag bits
+    static final int RUNNING = 1, GAME_OVER = 2, PLAYER_WINS = 4, BOSS = 8;
+
+    long tick = -1;
+    int screenWidth, screenHeight, score, bossHealth, flags;
+    int bossX, bossY;
+    int players;
+    int[] playerId = new int[8], playerX = new int[8], playerY = new int[8], playerHealth = new int[8];
+    final Entities bullets = new Entities();
+    final Entities enemies = new Entities();
+
+    static class Entities {
+        int count;
+        int[] id = new int[64], x = new int[64], y = new int[64];
+
+        void clear() {
+            count = 0;
+        }
+
+        void add(int entityId, int entityX, int entityY) {
+            if (count == id.length) {
+                id = Arrays.copyOf(id, count * 2);
+                x = Arrays.copyOf(x, count * 2);
+                y = Arrays.copyOf(y, count * 2);
+            }
+            id[count] = entityId;
+            x[count] = entityX;
+            y[count] = entityY;
+            count++;
+        }
+    }
+
+    // Captures the world after a tick, the host player first under hostId
+    public void capture(GameWorld world, long tick, int hostId) {
+        this.tick = tick;
+        screenWidth = world.screenWidth;
+        screenHeight = world.screenHeight;
+        score = world.score;
+        bossHealth = world.bossHealth;
+        flags = (world.running ? RUNNING : 0) | (world.gameOver ? GAME_OVER : 0)
+              | (world.playerWins ? PLAYER_WINS : 0) | (world.boss != null ? BOSS : 0);
+        bossX = world.boss != null ? world.boss.x : 0;
+        bossY = world.boss != null ? world.boss.y : 0;
+
+        players = 0;
+        addPlayer(hostId, world.player.x, world.player.y, world.playerHealth);
+        for (int i = 0; i < world.guests.size(); i++) {
+            Guest guest = world.guests.get(i);
+            addPlayer(guest.id, guest.x, guest.y, guest.health);
+        }
+        bullets.clear();
+        for (int i = 0; i < world.bullets.size(); i++) {
+            Bullet b = world.bullets.get(i);
+            bullets.add(b.id, b.x, b.y);
+        }
+        enemies.clear();
+        for (int i = 0; i < world.enemies.size(); i++) {
+            enemies.add(world.enemies.id[i], world.enemies.x[i], world.enemies.y[i]);
+        }
+    }
+
+    private void addPlayer(int id, int x, int y, int health) {
+        if (players == playerId.length) {
+            playerId = Arrays.copyOf(playerId, players * 2);
+            playerX = Arrays.copyOf(playerX, players * 2);
+            playerY = Arrays.copyOf(playerY, players * 2);
+            playerHealth = Arrays.copyOf(playerHealth, players * 2);
+        }
+        playerId[players] = id;
+        playerX[players] = x;
+        playerY[players] = y;
+        playerHealth[players] = health;
+        players++;
+    }
+
+    // Writes this snapshot as a delta against baseline, or in full when it is null
+    public void encode(ArenaSnapshot baseline, ByteBuffer out) {
+        VarInt.write(out, tick);
+        VarInt.write(out, baseline != null ? baseline.tick + 1 : 0);
+        VarInt.write(out, screenWidth);
+        VarInt.write(out, screenHeight);
+        VarInt.write(out, score);
+        VarInt.writeSigned(out, bossHealth);
+        VarInt.write(out, flags);
+        if ((flags & BOSS) != 0) {
+            VarInt.writeSigned(out, bossX);
+            VarInt.writeSigned(out, bossY);
+        }
+        VarInt.write(out, players);
+        for (int i = 0; i < players; i++) {
+            VarInt.write(out, playerId[i]);
+            VarInt.writeSigned(out, playerX[i]);
+            VarInt.writeSigned(out, playerY[i]);
+            VarInt.writeSigned(out, playerHealth[i]);
+        }
+        encodeEntities(bullets, baseline != null ? baseline.bullets : null, out);
+        encodeEntities(enemies, baseline != null ? baseline.enemies : null, out);
+        out.putInt(checksum());
+    }
+
+    private static void encodeEntities(Entities current, Entities base, ByteBuffer out) {
+        int baseCount = base != null ? base.count : 0;
+
+        // Removed: baseline ids missing from current
+        int removed = 0;
+        for (int i = 0, j = 0; i < baseCount; i++) {
+            while (j < current.count && current.id[j] < base.id[i]) j++;
+            if (j == current.count || current.id[j] != base.id[i]) removed++;
+        }
+        VarInt.write(out, removed);
+        int previous = 0;
+        for (int i = 0, j = 0; i < baseCount; i++) {
+            while (j < current.count && current.id[j] < base.id[i]) j++;
+            if (j == current.count || current.id[j] != base.id[i]) {
+                VarInt.write(out, base.id[i] - previous);
+                previous = base.id[i];
+            }
+        }
+
+        // Moved: survivors whose position changed, counted first
+        int moved = 0;
+        for (int i = 0, j = 0; i < baseCount && j < current.count; ) {
+            if (base.id[i] < current.id[j]) i++;
+            else if (base.id[i] > current.id[j]) j++;
+            else {
+                if (base.x[i] != current.x[j] || base.y[i] != current.y[j]) moved++;
+                i++;
+                j++;
+            }
+        }
+        VarInt.write(out, moved);
+        int skipped = 0;
+        for (int i = 0, j = 0; i < baseCount && j < current.count; ) {
+            if (base.id[i] < current.id[j]) i++;
+            else if (base.id[i] > current.id[j]) j++;
+            else {
+                if (base.x[i] != current.x[j] || base.y[i] != current.y[j]) {
+                    VarInt.write(out, skipped);
+                    VarInt.writeSigned(out, current.x[j] - base.x[i]);
+                    VarInt.writeSigned(out, current.y[j] - base.y[i]);
+                    skipped = 0;
+                } else {
+                    skipped++;
+                }
+                i++;
+                j++;
+            }
+        }
+
+        // Added: current ids missing from the baseline
+        int added = 0;
+        for (int j = 0, i = 0; j < current.count; j++) {
+            while (i < baseCount && base.id[i] < current.id[j]) i++;
+            if (i == baseCount || base.id[i] != current.id[j]) added++;
+        }
+        VarInt.write(out, added);
+        previous = 0;
+        for (int j = 0, i = 0; j < current.count; j++) {
+            while (i < baseCount && base.id[i] < current.id[j]) i++;
+            if (i == baseCount || base.id[i] != current.id[j]) {
+                VarInt.write(out, current.id[j] - previous);
+                VarInt.writeSigned(out, current.x[j]);
+                VarInt.writeSigned(out, current.y[j]);
+                previous = current.id[j];
+            }
+        }
+    }
+
+    // Upper bound on encode's output: every varint at its 5 byte maximum
+    public int maxEncodedBytes(ArenaSnapshot baseline) {
+        int baseEntities = baseline != null ? baseline.bullets.count + baseline.enemies.count : 0;
+        return 64 + players * 20 + (bullets.count + enemies.count) * 15 + baseEntities * 5;
+    }
+
+    // Baseline tick of an encoded snapshot without consuming it, -1 for a full one
+    public static long peekBaseline(ByteBuffer in) throws IOException {
+        ByteBuffer view = in.duplicate();
+        VarInt.read(view);
+        return VarInt.read(view) - 1;
+    }
+
+    // Rebuilds this snapshot from an encoding against baseline, which must be
+    // the snapshot named by the encoding. Throws if the result fails the checksum.
+    public void decode(ByteBuffer in, ArenaSnapshot baseline) throws IOException {
+        tick = VarInt.read(in);
+        long baselineTick = VarInt.read(in) - 1;
+        if (baselineTick >= 0 && (baseline == null || baseline.tick != baselineTick)) {
+            throw new IOException("Missing baseline " + baselineTick + " for tick " + tick);
+        }
+        screenWidth = (int) VarInt.read(in);
+        screenHeight = (int) VarInt.read(in);
+        score = (int) VarInt.read(in);
+        bossHealth = (int) VarInt.readSigned(in);
+        flags = (int) VarInt.read(in);
+        bossX = bossY = 0;
+        if ((flags & BOSS) != 0) {
+            bossX = (int) VarInt.readSigned(in);
+            bossY = (int) VarInt.readSigned(in);
+        }
+        int count = (int) VarInt.read(in);
+        players = 0;
+        for (int i = 0; i < count; i++) {
+            addPlayer((int) VarInt.read(in), (int) VarInt.readSigned(in), (int) VarInt.readSigned(in), (int) VarInt.readSigned(in));
+        }
+        decodeEntities(in, baselineTick >= 0 ? baseline.bullets : null, bullets);
+        decodeEntities(in, baselineTick >= 0 ? baseline.enemies : null, enemies);
+        if (in.getInt() != checksum()) throw new IOException("Snapshot " + tick + " failed its checksum");
+    }
+
+    private static void decodeEntities(ByteBuffer in, Entities base, Entities target) throws IOException {
+        target.clear();
+        int baseCount = base != null ? base.count : 0;
+
+        // Survivors in baseline order, with the removed ids taken out
+        int removed = (int) VarInt.read(in);
+        int nextRemoved = removed > 0 ? (int) VarInt.read(in) : Integer.MAX_VALUE;
+        for (int i = 0; i < baseCount; i++) {
+            if (base.id[i] == nextRemoved) {
+                removed--;
+                nextRemoved = removed > 0 ? nextRemoved + (int) VarInt.read(in) : Integer.MAX_VALUE;
+                continue;
+            }
+            target.add(base.id[i], base.x[i], base.y[i]);
+        }
+        if (removed > 0) throw new IOException("Removed ids not in the baseline");
+
+        int moved = (int) VarInt.read(in);
+        for (int k = 0, j = -1; k < moved; k++) {
+            j += (int) VarInt.read(in) + 1;
+            if (j >= target.count) throw new IOException("Moved entity out of range");
+            target.x[j] += (int) VarInt.readSigned(in);
+            target.y[j] += (int) VarInt.readSigned(in);
+        }
+
+        // Added entities merge into the survivors by id
+        int added = (int) VarInt.read(in);
+        if (added == 0) return;
+        int survivors = target.count;
+        int id = 0;
+        for (int k = 0; k < added; k++) {
+            id += (int) VarInt.read(in);
+            target.add(id, (int) VarInt.readSigned(in), (int) VarInt.readSigned(in));
+        }
+        if (survivors > 0 && target.id[survivors] < target.id[survivors - 1]) mergeTail(target, survivors);
+    }
+
+    // Merges the sorted runs [0, split) and [split, count) of e in place
+    private static void mergeTail(Entities e, int split) {
+        int n = e.count;
+        int[] id = Arrays.copyOf(e.id, n), x = Arrays.copyOf(e.x, n), y = Arrays.copyOf(e.y, n);
+        for (int k = 0, i = 0, j = split; k < n; k++) {
+            int from = j == n || (i < split && id[i] < id[j]) ? i++ : j++;
+            e.id[k] = id[from];
+            e.x[k] = x[from];
+            e.y[k] = y[from];
+        }
+    }
+
+    public void copyFrom(ArenaSnapshot other) {
+        tick = other.tick;
+        screenWidth = other.screenWidth;
+        screenHeight = other.screenHeight;
+        score = other.score;
+        bossHealth = other.bossHealth;
+        flags = other.flags;
+        bossX = other.bossX;
+        bossY = other.bossY;
+        players = 0;
+        for (int i = 0; i < other.players; i++) {
+            addPlayer(other.playerId[i], other.playerX[i], other.playerY[i], other.playerHealth[i]);
+        }
+        copyEntities(other.bullets, bullets);
+        copyEntities(other.enemies, enemies);
+    }
+
+    private static void copyEntities(Entities from, Entities to) {
+        to.clear();
+        for (int i = 0; i < from.count; i++) to.add(from.id[i], from.x[i], from.y[i]);
+    }
+
+    // Hash of everything a snapshot carries, lets clients detect a bad delta
+    public int checksum() {
+        int h = (int) tick;
+        h = h * 31 + screenWidth;
+        h = h * 31 + screenHeight;
+        h = h * 31 + score;
+        h = h * 31 + bossHealth;
+        h = h * 31 + flags;
+        h = h * 31 + bossX;
+        h = h * 31 + bossY;
+        for (int i = 0; i < players; i++) {
+            h = h * 31 + playerId[i];
+            h = h * 31 + playerX[i];
+            h = h * 31 + playerY[i];
+            h = h * 31 + playerHealth[i];
+        }
+        h = checksum(h, bullets);
+        return checksum(h, enemies);
+    }
+
+    private static int checksum(int h, Entities e) {
+        h = h * 31 + e.count;
+        for (int i = 0; i < e.count; i++) {
+            h = h * 31 + e.id[i];
+            h = h * 31 + e.x[i];
+            h = h * 31 + e.y[i];
+        }
+        return h;
+    }
+}
@@ -0,0 +1,36 @@
+package fillthescreen;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Offscreen copy of a static full-screen layer. It is repainted only when
+// the surface size (or the caller's key, e.g. a color) changes and is
+// otherwise blitted in a single drawImage.
+class BackgroundLayer {
+    private BufferedImage image;
+    private int width, height, key;
+
+    public boolean matches(int width, int height, int key) {
+        return image != null && this.width == width && this.height == height && this.key == key;
+    }
+
+    // Returns a graphics context for repainting the layer at the new size
+    public Graphics2D redraw(GraphicsConfiguration gc, int width, int height, int key) {
+        if (image != null) image.flush();
+        image = gc != null
+            ? gc.createCompatibleImage(width, height, Transparency.OPAQUE)
+            : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.width = width;
+        this.height = height;
+        this.key = key;
+        RenderCache.countAllocations(1);
+
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        return g;
+    }
+
+    public void draw(Graphics2D g2d) {
+        g2d.drawImage(image, 0, 0, null);
+    }
+}
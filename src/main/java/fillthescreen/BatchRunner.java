@@ -0,0 +1,165 @@
+package fillthescreen;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Headless Monte-Carlo balancing: plays N seeded matches with BotPlayer on a
+// work-stealing pool and streams one CSV row per finished match, followed by
+// win rate, time-to-win and score distributions.
+//
+//   java -cp target/classes fillthescreen.BatchRunner --matches 10000 --out balance.csv [--threads 8] [--seed 1]
+//                                                     [--max-ticks 75000] [--spawn-rate 5] [--max-enemies 400] [--boss-threshold 10]
+//                                                     [--boss-health 200] [--player-health 200] [--growth 15x10] [--bullet-speed 10]
+class BatchRunner {
+
+    static class MatchResult {
+        final int index;
+        final long seed;
+        final boolean won;
+        final long ticks;
+        final int score;
+
+        MatchResult(int index, long seed, boolean won, long ticks, int score) {
+            this.index = index;
+            this.seed = seed;
+            this.won = won;
+            this.ticks = ticks;
+            this.score = score;
+        }
+    }
+
+    static final String USAGE = "usage: BatchRunner [--matches N] [--out FILE] [--threads N] [--seed N] [--max-ticks N] [--spawn-rate N]"
+                              + " [--max-enemies N] [--boss-threshold N] [--boss-health N] [--player-health N] [--growth WxH] [--bullet-speed N]";
+
+    // Reports a bad command line and exits with status 2
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+
+    static MatchResult play(int index, long seed, GameConfig config, long maxTicks) {
+        GameWorld world = new GameWorld(seed, config);
+        world.parallelThreshold = Integer.MAX_VALUE; // matches already run in parallel
+        world.start(seed);
+
+        BotPlayer bot = new BotPlayer();
+        GameInput input = new GameInput();
+        while (world.running && world.tickCount < maxTicks) {
+            bot.decide(world, input);
+            world.step(input);
+        }
+        return new MatchResult(index, seed, world.playerWins, world.tickCount, world.score);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        int matches = 1000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long baseSeed = 1;
+        long maxTicks = 75_000; // 20 simulated minutes
+        String outFile = "batch-results.csv";
+        GameConfig config = new GameConfig();
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) usage(args[i] + " needs a value");
+            String value = args[i + 1];
+            try {
+                switch (args[i]) {
+                    case "--matches": matches = Integer.parseInt(value); break;
+                    case "--threads": threads = Integer.parseInt(value); break;
+                    case "--seed": baseSeed = Long.parseLong(value); break;
+                    case "--max-ticks": maxTicks = Long.parseLong(value); break;
+                    case "--out": outFile = value; break;
+                    case "--spawn-rate": config.enemySpawnRate = Integer.parseInt(value); break;
+                    case "--max-enemies": config.maxLiveEnemies = Integer.parseInt(value); break;
+                    case "--boss-threshold": config.bossSpawnThreshold = Integer.parseInt(value); break;
+                    case "--boss-health": config.bossHealth = Integer.parseInt(value); break;
+                    case "--player-health": config.playerMaxHealth = Integer.parseInt(value); break;
+                    case "--bullet-speed": config.bulletSpeed = Integer.parseInt(value); break;
+                    case "--growth":
+                        String[] growth = value.split("x");
+                        if (growth.length != 2) usage("--growth takes WIDTHxHEIGHT, got " + value);
+                        config.growthWidth = Integer.parseInt(growth[0]);
+                        config.growthHeight = Integer.parseInt(growth[1]);
+                        break;
+                    default: usage("Unknown option " + args[i]);
+                }
+            } catch (NumberFormatException e) {
+                usage(args[i] + " takes a number, got " + value);
+            }
+        }
+        if (matches < 1) usage("--matches must be at least 1");
+        if (threads < 1) usage("--threads must be at least 1");
+        if (maxTicks < 1) usage("--max-ticks must be at least 1");
+        if (config.enemySpawnRate < 0) usage("--spawn-rate must not be negative");
+        // The enemy store has no handle slots past this
+        if (config.maxLiveEnemies < 1 || config.maxLiveEnemies > EnemyStore.SLOT_MASK + 1) {
+            usage("--max-enemies must be between 1 and " + (EnemyStore.SLOT_MASK + 1));
+        }
+        // Faster bullets cross the widest screen in one tick
+        if (config.bulletSpeed < 1 || config.bulletSpeed > GameWorld.MAX_WIDTH) {
+            usage("--bullet-speed must be between 1 and " + GameWorld.MAX_WIDTH);
+        }
+
+        ExecutorService pool = Executors.newWorkStealingPool(threads);
+        CompletionService<MatchResult> completion = new ExecutorCompletionService<>(pool);
+        for (int i = 0; i < matches; i++) {
+            int index = i;
+            long seed = baseSeed + i;
+            long limit = maxTicks;
+            completion.submit(() -> play(index, seed, config, limit));
+        }
+
+        long[] winTicks = new long[matches];
+        int[] scores = new int[matches];
+        int wins = 0;
+        long start = System.nanoTime();
+        try (PrintWriter out = new PrintWriter(new FileWriter(outFile))) {
+            out.println("# " + config + ", threads=" + threads + ", maxTicks=" + maxTicks);
+            out.println("match,seed,won,ticks,seconds,score");
+            for (int done = 0; done < matches; done++) {
+                MatchResult r = completion.take().get();
+                out.println(r.index + "," + r.seed + "," + (r.won ? 1 : 0) + "," + r.ticks + ","
+                            + r.ticks * GameWorld.TICK_MILLIS / 1000.0 + "," + r.score);
+                scores[done] = r.score;
+                if (r.won) winTicks[wins++] = r.ticks;
+                if ((done + 1) % 1000 == 0) out.flush();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            String[] summary = {
+                String.format("matches %d, %.1f matches/s on %d threads", matches, matches / seconds, threads),
+                String.format("win rate %.2f%%", 100.0 * wins / matches),
+                "time to win (s) " + distribution(Arrays.copyOf(winTicks, wins), GameWorld.TICK_MILLIS / 1000.0),
+                "score " + distribution(Arrays.stream(scores).asLongStream().toArray(), 1)
+            };
+            for (String line : summary) {
+                out.println("# " + line);
+                System.out.println(line);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String distribution(long[] values, double scale) {
+        if (values.length == 0) return "n/a";
+        Arrays.sort(values);
+        double sum = 0;
+        for (long v : values) sum += v;
+        return String.format("min %.1f p10 %.1f p50 %.1f p90 %.1f max %.1f mean %.1f",
+                             values[0] * scale, quantile(values, 0.1) * scale, quantile(values, 0.5) * scale,
+                             quantile(values, 0.9) * scale, values[values.length - 1] * scale, sum / values.length * scale);
+    }
+
+    private static long quantile(long[] sorted, double q) {
+        return sorted[Math.min(sorted.length - 1, (int) (q * sorted.length))];
+    }
+}
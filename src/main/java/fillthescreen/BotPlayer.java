@@ -0,0 +1,64 @@
+package fillthescreen;
+
+// Scripted player for headless matches: aims at the boss or the nearest
+// enemy, backs away from anything closing in and otherwise drifts back to
+// the middle of the screen. Fully deterministic for a given world state.
+class BotPlayer {
+    static final int DANGER_RADIUS = 120;
+    static final int CENTER_SLACK = 40;
+
+    public void decide(GameWorld world, GameInput input) {
+        int cx = world.player.x + GameWorld.PLAYER_SIZE / 2;
+        int cy = world.player.y + GameWorld.PLAYER_SIZE / 2;
+
+        EnemyStore enemies = world.enemies;
+        int nearest = -1;
+        long nearestDistance = Long.MAX_VALUE;
+        for (int i = 0; i < enemies.size(); i++) {
+            long dx = enemies.x[i] + enemies.width / 2 - cx, dy = enemies.y[i] + enemies.height / 2 - cy;
+            long distance = dx * dx + dy * dy;
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = i;
+            }
+        }
+        // Centres of the nearest enemy, or of nothing when there are none
+        int enemyX = nearest >= 0 ? enemies.x[nearest] + enemies.width / 2 : 0;
+        int enemyY = nearest >= 0 ? enemies.y[nearest] + enemies.height / 2 : 0;
+
+        // The boss spawns on the centre and drains health every tick it
+        // overlaps, so it counts as the nearest threat once it is close
+        int threatX = enemyX, threatY = enemyY;
+        Boss boss = world.boss;
+        if (boss != null) {
+            long dx = boss.x + boss.width / 2 - cx, dy = boss.y + boss.height / 2 - cy;
+            long reach = DANGER_RADIUS + boss.width / 2;
+            long distance = dx * dx + dy * dy - reach * reach + (long) DANGER_RADIUS * DANGER_RADIUS;
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                threatX = boss.x + boss.width / 2;
+                threatY = boss.y + boss.height / 2;
+            }
+            input.aimX = boss.x + boss.width / 2;
+            input.aimY = boss.y + boss.height / 2;
+        } else if (nearest >= 0) {
+            input.aimX = enemyX;
+            input.aimY = enemyY;
+        }
+
+        input.up = input.down = input.left = input.right = false;
+        // nearestDistance stays at Long.MAX_VALUE when there is no threat at all
+        if (nearestDistance < (long) DANGER_RADIUS * DANGER_RADIUS) {
+            input.left = threatX > cx;
+            input.right = threatX < cx;
+            input.up = threatY > cy;
+            input.down = threatY < cy;
+        } else {
+            int mx = world.screenWidth / 2, my = world.screenHeight / 2;
+            input.left = cx > mx + CENTER_SLACK;
+            input.right = cx < mx - CENTER_SLACK;
+            input.up = cy > my + CENTER_SLACK;
+            input.down = cy < my - CENTER_SLACK;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package fillthescreen;
+
+import java.awt.Rectangle;
+import java.awt.geom.Path2D;
+import java.util.Arrays;
+
+// Coarse tile mask of the screen areas that changed since the last paint.
+// Marks are rounded out to TILE pixel squares, so many small overlapping
+// entity boxes collapse into a bounded set of tiles. The dirty tiles are
+// exposed as a clip shape of horizontal runs and as their bounding box.
+class DirtyRegion {
+    public static final int TILE = 32;
+
+    private final int columns, rows;
+    private final boolean[] tiles;
+    private final Path2D.Float shape = new Path2D.Float();
+    private final Rectangle bounds = new Rectangle();
+    private int dirtyTiles = 0;
+
+    public DirtyRegion(int maxWidth, int maxHeight) {
+        columns = (maxWidth + TILE - 1) / TILE;
+        rows = (maxHeight + TILE - 1) / TILE;
+        tiles = new boolean[columns * rows];
+    }
+
+    public void clear() {
+        Arrays.fill(tiles, false);
+        dirtyTiles = 0;
+    }
+
+    public boolean isEmpty() {
+        return dirtyTiles == 0;
+    }
+
+    public void add(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        int c0 = Math.max(0, Math.floorDiv(x, TILE)), c1 = Math.min(columns - 1, Math.floorDiv(x + width - 1, TILE));
+        int r0 = Math.max(0, Math.floorDiv(y, TILE)), r1 = Math.min(rows - 1, Math.floorDiv(y + height - 1, TILE));
+        for (int r = r0; r <= r1; r++) {
+            int row = r * columns;
+            for (int c = c0; c <= c1; c++) {
+                if (!tiles[row + c]) {
+                    tiles[row + c] = true;
+                    dirtyTiles++;
+                }
+            }
+        }
+    }
+
+    // Adds the box covering an entity at both its previous and current position
+    public void addSwept(int prevX, int prevY, int x, int y, int width, int height, int pad) {
+        int minX = Math.min(prevX, x), minY = Math.min(prevY, y);
+        add(minX - pad, minY - pad, Math.abs(x - prevX) + width + pad * 2, Math.abs(y - prevY) + height + pad * 2);
+    }
+
+    public void addAll(DirtyRegion other) {
+        for (int i = 0; i < tiles.length; i++) {
+            if (other.tiles[i] && !tiles[i]) {
+                tiles[i] = true;
+                dirtyTiles++;
+            }
+        }
+    }
+
+    // Dirty pixels inside a width x height surface
+    public long pixels(int width, int height) {
+        if (dirtyTiles == 0) return 0;
+        long total = 0;
+        for (int r = 0; r < rows; r++) {
+            int tileHeight = Math.max(0, Math.min(TILE, height - r * TILE));
+            for (int c = 0; c < columns; c++) {
+                if (tiles[r * columns + c]) total += (long) tileHeight * Math.max(0, Math.min(TILE, width - c * TILE));
+            }
+        }
+        return total;
+    }
+
+    // Clip shape made of one rectangle per run of dirty tiles in a row
+    public Path2D.Float shape() {
+        shape.reset();
+        for (int r = 0; r < rows; r++) {
+            int c = 0;
+            while (c < columns) {
+                if (!tiles[r * columns + c]) {
+                    c++;
+                    continue;
+                }
+                int start = c;
+                while (c < columns && tiles[r * columns + c]) c++;
+                float x0 = start * TILE, x1 = c * TILE, y0 = r * TILE, y1 = y0 + TILE;
+                shape.moveTo(x0, y0);
+                shape.lineTo(x1, y0);
+                shape.lineTo(x1, y1);
+                shape.lineTo(x0, y1);
+                shape.closePath();
+            }
+        }
+        return shape;
+    }
+
+    public Rectangle bounds() {
+        int minC = columns, minR = rows, maxC = -1, maxR = -1;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                if (!tiles[r * columns + c]) continue;
+                minC = Math.min(minC, c);
+                maxC = Math.max(maxC, c);
+                minR = Math.min(minR, r);
+                maxR = Math.max(maxR, r);
+            }
+        }
+        if (maxC < 0) {
+            bounds.setBounds(0, 0, 0, 0);
+        } else {
+            bounds.setBounds(minC * TILE, minR * TILE, (maxC - minC + 1) * TILE, (maxR - minR + 1) * TILE);
+        }
+        return bounds;
+    }
+}
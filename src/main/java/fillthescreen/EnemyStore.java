@@ -0,0 +1,189 @@
+package fillthescreen;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+// Every enemy of one archetype, stored as parallel primitive arrays so the
+// per-tick systems (movement, grid building, drawing, snapshots) walk
+// memory linearly instead of chasing one Rectangle object per enemy. All
+// enemies of an archetype share its size; another enemy type gets its own
+// store rather than a type check in every loop.
+//
+// Index i is the enemy's position in the dense arrays and changes when
+// compact() closes the gaps left by removals. Code that has to follow an
+// enemy across ticks keeps its handle, which stays valid until the enemy is
+// removed and resolves back to the current index with indexOf().
+//
+// Enemies used to come from an EntityPool. The store reuses its array slots
+// instead, so the enemy pool's high water and reuse figures went with it.
+// Only bullets still report pool stats.
+class EnemyStore {
+    static final int INITIAL_CAPACITY = 64;
+    static final int SLOT_BITS = 20; // low bits of a handle, the rest count slot reuse
+    static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    static final int GENERATION_MASK = (1 << 31 - SLOT_BITS) - 1; // keeps handles positive
+
+    final int width, height;
+    int[] x, y, prevX, prevY;
+    float[] posX, posY; // sub-pixel position, x and y hold its integer part
+    int[] id;           // network identity, assigned by GameWorld when spawned
+    private int[] handles;          // per index, -1 once removed
+    private int[] slotIndex;        // per handle slot, the current index or the next free slot
+    private int[] slotGeneration;
+    private int count = 0, removed = 0, slotCount = 0, freeSlot = -1;
+
+    public EnemyStore(int width, int height) {
+        this.width = width;
+        this.height = height;
+        x = new int[INITIAL_CAPACITY];
+        y = new int[INITIAL_CAPACITY];
+        prevX = new int[INITIAL_CAPACITY];
+        prevY = new int[INITIAL_CAPACITY];
+        posX = new float[INITIAL_CAPACITY];
+        posY = new float[INITIAL_CAPACITY];
+        id = new int[INITIAL_CAPACITY];
+        handles = new int[INITIAL_CAPACITY];
+        slotIndex = new int[INITIAL_CAPACITY];
+        slotGeneration = new int[INITIAL_CAPACITY];
+    }
+
+    // Number of entries, including removed ones until the next compact()
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    // Appends an enemy standing still at (startX, startY) and returns its index
+    public int add(int startX, int startY) {
+        // Past SLOT_MASK handles would alias slots, far beyond any live enemy cap
+        if (freeSlot < 0 && slotCount > SLOT_MASK) throw new IllegalStateException("More than " + (SLOT_MASK + 1) + " enemies");
+        if (count == x.length) grow();
+        int i = count++;
+        x[i] = prevX[i] = startX;
+        y[i] = prevY[i] = startY;
+        posX[i] = startX;
+        posY[i] = startY;
+        id[i] = 0;
+
+        int slot = freeSlot;
+        if (slot >= 0) {
+            freeSlot = slotIndex[slot];
+        } else {
+            if (slotCount == slotIndex.length) {
+                slotIndex = Arrays.copyOf(slotIndex, slotCount * 2);
+                slotGeneration = Arrays.copyOf(slotGeneration, slotCount * 2);
+            }
+            slot = slotCount++;
+        }
+        slotIndex[slot] = i;
+        handles[i] = slotGeneration[slot] << SLOT_BITS | slot;
+        return i;
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        posX = Arrays.copyOf(posX, capacity);
+        posY = Arrays.copyOf(posY, capacity);
+        id = Arrays.copyOf(id, capacity);
+        handles = Arrays.copyOf(handles, capacity);
+    }
+
+    // Marks enemy i dead. Its index stays taken so the indices of a loop in
+    // progress and of a built SpatialGrid remain valid; compact() drops it.
+    public void remove(int i) {
+        int slot = handles[i] & SLOT_MASK;
+        slotGeneration[slot] = (slotGeneration[slot] + 1) & GENERATION_MASK;
+        slotIndex[slot] = freeSlot;
+        freeSlot = slot;
+        handles[i] = -1;
+        removed++;
+    }
+
+    public boolean removed(int i) {
+        return handles[i] < 0;
+    }
+
+    // Drops removed entries in one pass, keeping the order of the live ones
+    public void compact() {
+        if (removed == 0) return;
+        int live = 0;
+        for (int i = 0; i < count; i++) {
+            if (handles[i] < 0) continue;
+            if (live != i) {
+                x[live] = x[i];
+                y[live] = y[i];
+                prevX[live] = prevX[i];
+                prevY[live] = prevY[i];
+                posX[live] = posX[i];
+                posY[live] = posY[i];
+                id[live] = id[i];
+                handles[live] = handles[i];
+                slotIndex[handles[i] & SLOT_MASK] = live;
+            }
+            live++;
+        }
+        count = live;
+        removed = 0;
+    }
+
+    public void clear() {
+        // Outstanding handles must not resolve to whatever reuses their slot
+        for (int slot = 0; slot < slotCount; slot++) {
+            slotGeneration[slot] = (slotGeneration[slot] + 1) & GENERATION_MASK;
+        }
+        count = removed = slotCount = 0;
+        freeSlot = -1;
+    }
+
+    public int handle(int i) {
+        return handles[i];
+    }
+
+    // Current index of the enemy behind handle, or -1 once it was removed
+    public int indexOf(int handle) {
+        int slot = handle & SLOT_MASK;
+        if (handle < 0 || slot >= slotCount || slotGeneration[slot] != handle >>> SLOT_BITS) return -1;
+        return slotIndex[slot];
+    }
+
+    // Moves enemies from (inclusive) to to (exclusive) one step towards the target
+    public void move(int from, int to, int targetX, int targetY, float speed, Steering steering) {
+        for (int i = from; i < to; i++) {
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+
+            if (steering == Steering.TRIG) {
+                double angle = StrictMath.atan2(targetY - y[i], targetX - x[i]);
+                x[i] += (int) (speed * StrictMath.cos(angle));
+                y[i] += (int) (speed * StrictMath.sin(angle));
+                posX[i] = x[i];
+                posY[i] = y[i];
+                continue;
+            }
+
+            float dx = targetX - posX[i];
+            float dy = targetY - posY[i];
+            float lengthSquared = dx * dx + dy * dy;
+            if (lengthSquared < 1e-6f) continue;
+
+            float scale = speed * steering.inverseLength(lengthSquared);
+            posX[i] += dx * scale;
+            posY[i] += dy * scale;
+            x[i] = (int) Math.floor(posX[i]);
+            y[i] = (int) Math.floor(posY[i]);
+        }
+    }
+
+    // Same test as Rectangle.intersects, edges touching don't count
+    public boolean intersects(int i, Rectangle other) {
+        return x[i] < other.x + other.width && other.x < x[i] + width
+            && y[i] < other.y + other.height && other.y < y[i] + height;
+    }
+}
@@ -0,0 +1,68 @@
+package fillthescreen;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+// Free-list pool for reusable game objects. acquire() hands back a released
+// instance when one is available and only falls back to the factory when
+// the free list is empty; the caller resets the instance before use.
+class EntityPool<T> {
+    private final Supplier<T> factory;
+    private Object[] free = new Object[64];
+    private int freeCount = 0;
+
+    // Statistics
+    private int live = 0;
+    private int highWater = 0;
+    private long acquired = 0;
+    private long reused = 0;
+    private long allocated = 0;
+
+    public EntityPool(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        acquired++;
+        if (++live > highWater) highWater = live;
+        if (freeCount > 0) {
+            reused++;
+            T item = (T) free[--freeCount];
+            free[freeCount] = null;
+            return item;
+        }
+        allocated++;
+        return factory.get();
+    }
+
+    public void release(T item) {
+        live--;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = item;
+    }
+
+    public int live() {
+        return live;
+    }
+
+    public int highWater() {
+        return highWater;
+    }
+
+    public long allocated() {
+        return allocated;
+    }
+
+    // Fraction of acquires served from the free list
+    public double reuseRatio() {
+        return acquired == 0 ? 0 : (double) reused / acquired;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("live=%d high=%d allocated=%d reuse=%.1f%%", live, highWater, allocated, reuseRatio() * 100);
+    }
+}
@@ -0,0 +1,733 @@
+package fillthescreen;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class FillTheScreen extends JPanel implements GameLoop.Listener, KeyListener, MouseListener {
+    // Colors
+    private static final Color PLAYER_COLOR = new Color(0, 150, 255);
+    private static final Color BULLET_COLOR = new Color(255, 255, 255, 200);
+    private static final Color ENEMY_COLOR = new Color(GameWorld.ENEMY_RGB);
+    private static final Color BOSS_COLOR = new Color(GameWorld.BOSS_RGB);
+    private static final Color BACKGROUND_COLOR = new Color(10, 10, 20);
+    private static final Color GRID_COLOR = new Color(30, 30, 40);
+    
+    // Simulation, this panel only feeds it input and draws it. Loads and
+    // rewinds decode into a fresh world and swap it in under stateLock.
+    private volatile GameWorld world = new GameWorld();
+    private final GameInput input = new GameInput();
+    private final boolean[] keys;
+    private boolean cheatRequested = false;
+    
+    // View state
+    private boolean gamePaused = false;
+    private int viewWidth = GameWorld.INITIAL_WIDTH;
+    private int viewHeight = GameWorld.INITIAL_HEIGHT;
+    private final Random menuRandom = new Random();
+    
+    // Input recording, see InputRecorder and Replay
+    private File recordDirectory;
+    private Long fixedSeed;
+    private InputRecorder recorder;
+    
+    // Save states, F8 saves to saveFile, F9 loads it and Backspace rewinds
+    private Path saveFile = Paths.get("quicksave.ftss");
+    private final RewindBuffer rewind = new RewindBuffer();
+    // The snapshot is encoded under stateLock and written by saveWriter, so
+    // the EDT never waits on the disk. pendingSave is the last snapshot until
+    // its file is written, F9 loads it from memory meanwhile.
+    private final ExecutorService saveWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "save-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ByteBuffer pendingSave;
+    
+    // Finished runs go to the stats store, null when it could not be opened
+    private StatsStore stats;
+    private long runSeed;
+    private boolean runRestored = false; // loaded or rewound, kept out of the top list
+    private boolean newBest = false; // the last finished run tops the stats
+    
+    // Frame and tick instrumentation, F3 toggles the overlay
+    private final Profiler profiler = new Profiler();
+    private boolean showPerfOverlay = false;
+    
+    // Dirty-region repaint, F4 switches back to painting the whole panel.
+    // While playing, frames are rendered into scene and only the tiles that
+    // entities or the HUD touched since the previous frame are redrawn.
+    private boolean dirtyRepaint = true;
+    private BufferedImage scene;
+    private boolean sceneComplete = false;
+    private DirtyRegion paintedRegion = new DirtyRegion(GameWorld.MAX_WIDTH, GameWorld.MAX_HEIGHT);
+    private DirtyRegion frameRegion = new DirtyRegion(GameWorld.MAX_WIDTH, GameWorld.MAX_HEIGHT);
+    private final DirtyRegion requestRegion = new DirtyRegion(GameWorld.MAX_WIDTH, GameWorld.MAX_HEIGHT);
+    private final Rectangle paintedBounds = new Rectangle();
+    
+    // Active rendering, when set the loop thread presents frames on its
+    // canvas, which covers this panel, instead of calling repaint
+    private ActiveRenderer active;
+    private long lastFrameStart = 0;
+    
+    // F6 switches gameplay drawing between Java2D and the int[] raster backend
+    private boolean softwareRaster = false;
+    
+    // Steps quality down under load and back up with headroom, F7 turns it off
+    private final QualityGovernor governor = new QualityGovernor();
+    private String renderMode = renderModeLabel();
+    
+    // UI elements
+    private final Rectangle startButton;
+    private final Rectangle exitButton;
+    private final JFrame frame;
+    private volatile Point mousePosition = new Point(0, 0);
+    
+    // Game loop and timers. All game state is guarded by stateLock, the loop
+    // thread ticks under it and the EDT paints and handles clicks under it.
+    private final Object stateLock = new Object();
+    private final GameLoop gameLoop;
+    private final Timer winScreenTimer;
+    private int winScreenTimeLeft = 10;
+    
+    private final Rectangle renderPlayer = new Rectangle();
+    
+    private final MouseMotionListener mouseTracker = new MouseMotionAdapter() {
+        @Override
+        public void mouseMoved(MouseEvent e) {
+            mousePosition = e.getPoint();
+        }
+    };
+
+    public FillTheScreen(JFrame frame) {
+        this.frame = frame;
+        setPreferredSize(new Dimension(GameWorld.INITIAL_WIDTH, GameWorld.INITIAL_HEIGHT));
+        setBackground(BACKGROUND_COLOR);
+        addKeyListener(this);
+        addMouseListener(this);
+        addMouseMotionListener(mouseTracker);
+        setFocusable(true);
+
+        keys = new boolean[256];
+        world.profiler = profiler;
+
+        // UI buttons
+        startButton = new Rectangle(GameWorld.INITIAL_WIDTH / 2 - 100, GameWorld.INITIAL_HEIGHT / 2 - 50, 200, 50);
+        exitButton = new Rectangle(GameWorld.INITIAL_WIDTH / 2 - 100, GameWorld.INITIAL_HEIGHT / 2 + 40, 200, 50);
+
+        // Set up game loop and timers
+        gameLoop = new GameLoop(this);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                gameLoop.stop();
+            }
+        });
+
+        winScreenTimer = new Timer(1000, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                synchronized (stateLock) {
+                    winScreenTimeLeft--;
+                    if (winScreenTimeLeft <= 0) {
+                        winScreenTimer.stop();
+                        world.dismissWin();
+                    }
+                }
+                repaint();
+            }
+        });
+    }
+
+    public void setRecordDirectory(File recordDirectory) {
+        this.recordDirectory = recordDirectory;
+    }
+    
+    public void streamPerfStats(String path) throws IOException {
+        profiler.streamTo(path);
+    }
+    
+    public void setSaveFile(Path saveFile) {
+        this.saveFile = saveFile;
+    }
+    
+    public void openStats(Path directory) {
+        try {
+            stats = StatsStore.open(directory);
+        } catch (IOException e) {
+            System.err.println("Stats disabled, cannot read " + directory + ": " + e.getMessage());
+        }
+    }
+    
+    public void setSeed(long seed) {
+        this.fixedSeed = seed;
+    }
+    
+    public void setFrameLimit(int framesPerSecond) {
+        gameLoop.setFrameLimit(framesPerSecond);
+        governor.setFrameLimit(framesPerSecond);
+    }
+    
+    // Switches to drawing from the game loop into a BufferStrategy canvas.
+    // Call before the panel is shown; the Swing paint path stays the default.
+    public void useActiveRendering(boolean sync) {
+        active = new ActiveRenderer(this::paintFrame, BACKGROUND_COLOR);
+        active.sync = sync;
+        active.canvas.addKeyListener(this);
+        active.canvas.addMouseListener(this);
+        active.canvas.addMouseMotionListener(mouseTracker);
+        setLayout(new BorderLayout());
+        add(active.canvas);
+    }
+
+    public void startGame() {
+        long seed = fixedSeed != null ? fixedSeed : System.nanoTime();
+        runSeed = seed;
+        runRestored = false;
+        newBest = false;
+        world.start(seed);
+        gamePaused = false;
+        rewind.clear();
+        startRecording(seed);
+        updateScreenSize();
+        gameLoop.start();
+    }
+    
+    private void startRecording(long seed) {
+        stopRecording();
+        if (recordDirectory == null) return;
+        File file = new File(recordDirectory, "run-" + seed + ".ftsr");
+        try {
+            recorder = new InputRecorder(new FileOutputStream(file), seed, world);
+        } catch (IOException e) {
+            System.err.println("Recording disabled, cannot write " + file + ": " + e.getMessage());
+        }
+    }
+    
+    private void stopRecording() {
+        if (recorder == null) return;
+        try {
+            if (world.running) {
+                recorder.close();
+            } else {
+                recorder.finish(world);
+            }
+        } catch (IOException e) {
+            System.err.println("Recording failed: " + e.getMessage());
+        }
+        recorder = null;
+    }
+    
+    private void saveState() {
+        if (!world.running) return;
+        long start = System.nanoTime();
+        ByteBuffer bytes = SaveState.encode(world);
+        long encoded = System.nanoTime();
+        Path file = saveFile;
+        pendingSave = bytes;
+        saveWriter.execute(() -> {
+            try {
+                SaveState.writeFile(bytes.duplicate(), file);
+                System.out.printf("Saved %s, encoded in %.2f ms, written in %.2f ms%n", file,
+                                  (encoded - start) / 1e6, (System.nanoTime() - encoded) / 1e6);
+            } catch (IOException e) {
+                System.err.println("Save failed: " + e.getMessage());
+            }
+            synchronized (stateLock) {
+                if (pendingSave == bytes) pendingSave = null;
+            }
+        });
+    }
+    
+    // Reads and decodes on saveWriter, behind any save still being written,
+    // and swaps the result in on the EDT. A save that fails to load leaves
+    // the current run as it is.
+    private void loadState() {
+        Path file = saveFile;
+        ByteBuffer pending = pendingSave;
+        saveWriter.execute(() -> {
+            if (pending == null && !Files.exists(file)) return;
+            long start = System.nanoTime();
+            GameWorld loaded = new GameWorld();
+            try {
+                SaveState.read(pending != null ? pending.duplicate() : SaveState.readFile(file), loaded);
+            } catch (IOException e) {
+                System.err.println("Load failed: " + e.getMessage());
+                return;
+            }
+            System.out.printf("Loaded %s in %.2f ms%n", file, (System.nanoTime() - start) / 1e6);
+            SwingUtilities.invokeLater(() -> {
+                synchronized (stateLock) {
+                    rewind.clear();
+                    restored(loaded);
+                }
+            });
+        });
+    }
+    
+    private void rewindState() {
+        if (rewind.size() == 0) return;
+        GameWorld rewound = new GameWorld();
+        try {
+            if (!rewind.rewind(world.tickCount, rewound)) return;
+        } catch (IOException e) {
+            System.err.println("Rewind failed: " + e.getMessage());
+            return;
+        }
+        restored(rewound);
+    }
+    
+    // Replaces the world with one that was just loaded or rewound and brings
+    // the view in line with it
+    private void restored(GameWorld restored) {
+        // The recorded inputs no longer lead to the restored state, end the recording here
+        stopRecording();
+        restored.profiler = profiler;
+        world = restored;
+        runRestored = true;
+        winScreenTimer.stop();
+        if (!world.running && world.playerWins) {
+            winScreenTimeLeft = 10;
+            winScreenTimer.start();
+        }
+        sceneComplete = false;
+        updateScreenSize();
+        if (world.running) gameLoop.start();
+    }
+    
+    private void updateScreenSize() {
+        if (viewWidth == world.screenWidth && viewHeight == world.screenHeight) return;
+        viewWidth = world.screenWidth;
+        viewHeight = world.screenHeight;
+        
+        // May be called from the game loop thread, layout belongs on the EDT
+        Dimension size = new Dimension(viewWidth, viewHeight);
+        SwingUtilities.invokeLater(() -> {
+            setPreferredSize(size);
+            revalidate();
+            frame.pack();
+        });
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        GameRenderer.prepareSprites(getGraphicsConfiguration(), BULLET_COLOR, GameWorld.BULLET_SIZE,
+                                    ENEMY_COLOR, GameWorld.ENEMY_SIZE, BOSS_COLOR, GameWorld.BOSS_SIZE);
+    }
+
+    @Override
+    public void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (active != null) return; // hidden under the canvas
+        paintFrame((Graphics2D) g);
+    }
+    
+    // In active mode the canvas covers this panel, so route repaint requests
+    // (menus, pause, win countdown) to it
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) {
+        if (active != null) {
+            active.canvas.repaint(tm, x, y, width, height);
+        } else {
+            super.repaint(tm, x, y, width, height);
+        }
+    }
+    
+    // One frame on either the Swing graphics or the active buffer strategy
+    private void paintFrame(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasHint());
+
+        long frameStart = Profiler.now();
+        if (lastFrameStart != 0 && isSimulating()) profiler.lap(Profiler.Phase.FRAME_INTERVAL, lastFrameStart);
+        lastFrameStart = frameStart;
+        long pixels;
+        RenderCache.beginFrame();
+        synchronized (stateLock) {
+            if (dirtyRepaint && world.running) {
+                pixels = paintScene(g2d);
+            } else {
+                render(g2d);
+                sceneComplete = false;
+                Rectangle clip = g2d.getClipBounds();
+                pixels = clip != null ? (long) clip.width * clip.height : (long) getWidth() * getHeight();
+            }
+        }
+        RenderCache.endFrame();
+        profiler.lap(Profiler.Phase.FRAME, frameStart);
+        // Flip or blit is settled when present first creates the buffer strategy
+        if (active != null) profiler.setPresentation(active.isPageFlipping() ? "flip" : "blit");
+        profiler.frameCompleted(pixels);
+        if (governor.update(profiler)) applyQuality();
+    }
+    
+    private Object antialiasHint() {
+        return governor.antialias() ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF;
+    }
+    
+    // Pushes the governor's level into the renderer; the particle cap is
+    // picked up by the simulation in readInput
+    private void applyQuality() {
+        synchronized (stateLock) {
+            GameRenderer.glowEnabled = governor.glow();
+            GameRenderer.simpleGrid = governor.simpleGrid();
+            renderMode = renderModeLabel();
+            sceneComplete = false;
+        }
+    }
+    
+    // Overlay description of the current repaint mode, backend and entity style
+    private String renderModeLabel() {
+        return (dirtyRepaint ? "dirty" : "full") + " " + (softwareRaster ? "raster" : "java2d " + GameRenderer.entityStyle.name().toLowerCase())
+               + " q:" + (governor.enabled ? governor.level().name().toLowerCase() : "off");
+    }
+    
+    // Brings the scene buffer up to date and copies it to the panel. Only the
+    // tiles covering last frame's and this frame's entities are redrawn,
+    // everything else still holds the previous frame. Returns pixels rendered.
+    private long paintScene(Graphics2D g2d) {
+        GameWorld w = world;
+        boolean sizeMatches = scene != null && scene.getWidth() == w.screenWidth && scene.getHeight() == w.screenHeight;
+        boolean partial = sceneComplete && !gamePaused && sizeMatches;
+        if (!sizeMatches) {
+            GraphicsConfiguration gc = getGraphicsConfiguration();
+            if (scene != null) scene.flush();
+            scene = gc != null
+                ? gc.createCompatibleImage(w.screenWidth, w.screenHeight, Transparency.OPAQUE)
+                : new BufferedImage(w.screenWidth, w.screenHeight, BufferedImage.TYPE_INT_RGB);
+            RenderCache.countAllocations(1);
+        }
+        
+        markDirty(frameRegion);
+        paintedBounds.setBounds(frameRegion.bounds());
+        DirtyRegion current = frameRegion;
+        frameRegion = paintedRegion;
+        paintedRegion = current;
+        // frameRegion now holds what the previous frame drew, add the new boxes to it
+        frameRegion.addAll(paintedRegion);
+        
+        long pixels = 0;
+        if (!partial || !frameRegion.isEmpty()) {
+            Graphics2D sg = scene.createGraphics();
+            sg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasHint());
+            if (partial) {
+                sg.clip(frameRegion.shape());
+                pixels = frameRegion.pixels(w.screenWidth, w.screenHeight);
+            } else {
+                pixels = (long) w.screenWidth * w.screenHeight;
+            }
+            render(sg);
+            sg.dispose();
+        }
+        sceneComplete = !gamePaused;
+        g2d.drawImage(scene, 0, 0, null);
+        return pixels;
+    }
+    
+    // Marks every area the current frame draws into: entities at both their
+    // previous and current tick positions, the HUD and the overlays
+    private void markDirty(DirtyRegion region) {
+        GameWorld w = world;
+        region.clear();
+        // Player box padded for the glow, stroke and the aiming arrow around its center
+        region.addSwept(w.prevPlayerX, w.prevPlayerY, w.player.x, w.player.y, w.player.width, w.player.height, 27);
+        for (int i = 0; i < w.bullets.size(); i++) {
+            Bullet b = w.bullets.get(i);
+            region.addSwept(b.prevX, b.prevY, b.x, b.y, GameWorld.BULLET_SIZE, GameWorld.BULLET_SIZE, 3);
+        }
+        EnemyStore e = w.enemies;
+        for (int i = 0; i < e.size(); i++) {
+            region.addSwept(e.prevX[i], e.prevY[i], e.x[i], e.y[i], e.width, e.height, 3);
+        }
+        if (w.boss != null) {
+            // Glow reaches 10px out, the health bar sits 15px above
+            region.addSwept(w.boss.prevX, w.boss.prevY, w.boss.x, w.boss.y, w.boss.width, w.boss.height, 16);
+        }
+        ParticleSystem p = w.particles;
+        for (int i = 0; i < p.size(); i++) {
+            region.addSwept((int) (p.x[i] - p.dx[i]), (int) (p.y[i] - p.dy[i]), (int) p.x[i], (int) p.y[i],
+                            p.size[i], p.size[i], 2);
+        }
+        region.add(18, 18, Math.max(w.playerMaxHealth + 8, 260), 72);
+        region.add(w.screenWidth - 232, 18, 210, 40);
+        if (showPerfOverlay) region.add(20, 95, 360, 124);
+    }
+    
+    private void render(Graphics2D g2d) {
+        GameWorld w = world;
+        if (w.running) {
+            float alpha = gamePaused ? 1f : gameLoop.interpolation();
+            renderPlayer.setBounds(GameRenderer.lerp(w.prevPlayerX, w.player.x, alpha),
+                                   GameRenderer.lerp(w.prevPlayerY, w.player.y, alpha),
+                                   w.player.width, w.player.height);
+            
+            long t = Profiler.now();
+            if (softwareRaster) {
+                SoftwareRenderer.begin(w.screenWidth, w.screenHeight, GRID_COLOR);
+                t = profiler.lap(Profiler.Phase.DRAW_BACKGROUND, t);
+                SoftwareRenderer.drawParticles(w.particles);
+                t = profiler.lap(Profiler.Phase.DRAW_PARTICLES, t);
+                SoftwareRenderer.drawPlayer(renderPlayer, PLAYER_COLOR);
+                t = profiler.lap(Profiler.Phase.DRAW_PLAYER, t);
+                SoftwareRenderer.drawBullets(w.bullets, BULLET_COLOR, GameWorld.BULLET_SIZE, alpha);
+                t = profiler.lap(Profiler.Phase.DRAW_BULLETS, t);
+                SoftwareRenderer.drawEnemies(w.enemies, ENEMY_COLOR, alpha);
+                t = profiler.lap(Profiler.Phase.DRAW_ENEMIES, t);
+                if (w.boss != null) SoftwareRenderer.drawBoss(w.boss, BOSS_COLOR, w.bossHealth, w.config.bossHealth, GameWorld.BOSS_SIZE, alpha);
+                t = profiler.lap(Profiler.Phase.DRAW_BOSS, t);
+                SoftwareRenderer.drawHUDBars(w.playerHealth, w.playerMaxHealth, w.screenWidth, w.screenHeight, GameWorld.MAX_WIDTH, GameWorld.MAX_HEIGHT);
+                SoftwareRenderer.blit(g2d);
+                GameRenderer.drawHUDText(g2d, w.score, w.elapsedMillis(), w.screenWidth, w.screenHeight, GameWorld.MAX_WIDTH, GameWorld.MAX_HEIGHT);
+                t = profiler.lap(Profiler.Phase.DRAW_HUD, t);
+            } else {
+                GameRenderer.drawBackground(g2d, w.screenWidth, w.screenHeight, GRID_COLOR);
+                t = profiler.lap(Profiler.Phase.DRAW_BACKGROUND, t);
+                GameRenderer.drawParticles(g2d, w.particles);
+                t = profiler.lap(Profiler.Phase.DRAW_PARTICLES, t);
+                GameRenderer.drawPlayer(g2d, renderPlayer, PLAYER_COLOR, GameWorld.PLAYER_SIZE);
+                t = profiler.lap(Profiler.Phase.DRAW_PLAYER, t);
+                GameRenderer.drawBullets(g2d, w.bullets, BULLET_COLOR, GameWorld.BULLET_SIZE, alpha);
+                t = profiler.lap(Profiler.Phase.DRAW_BULLETS, t);
+                GameRenderer.drawEnemies(g2d, w.enemies, ENEMY_COLOR, alpha);
+                t = profiler.lap(Profiler.Phase.DRAW_ENEMIES, t);
+                if (w.boss != null) GameRenderer.drawBoss(g2d, w.boss, BOSS_COLOR, w.bossHealth, w.config.bossHealth, GameWorld.BOSS_SIZE, alpha);
+                t = profiler.lap(Profiler.Phase.DRAW_BOSS, t);
+                GameRenderer.drawHUD(g2d, w.playerHealth, w.playerMaxHealth, w.score, w.elapsedMillis(), w.screenWidth, w.screenHeight, GameWorld.MAX_WIDTH, GameWorld.MAX_HEIGHT);
+                t = profiler.lap(Profiler.Phase.DRAW_HUD, t);
+            }
+            if (showPerfOverlay) GameRenderer.drawPerfOverlay(g2d, profiler, renderMode, 20, 95);
+            if (gamePaused) GameRenderer.drawPauseScreen(g2d, w.screenWidth, w.screenHeight);
+            GameRenderer.drawAimingArrow(g2d, renderPlayer, mousePosition, GameWorld.PLAYER_SIZE);
+            profiler.lap(Profiler.Phase.DRAW_OVERLAYS, t);
+        } else if (w.playerWins) {
+            GameRenderer.drawWinScreen(g2d, w.screenWidth, w.screenHeight, w.score, w.elapsedMillis(), bestScore(), newBest, winScreenTimeLeft);
+        } else if (w.gameOver) {
+            GameRenderer.drawGameOverScreen(g2d, w.screenWidth, w.screenHeight, w.score, w.elapsedMillis(), bestScore(), newBest);
+        } else {
+            GameRenderer.drawMainMenu(g2d, w.screenWidth, w.screenHeight, startButton, exitButton, menuRandom);
+        }
+    }
+
+    @Override
+    public boolean isSimulating() {
+        return world.running && !gamePaused;
+    }
+    
+    @Override
+    public void tick() {
+        synchronized (stateLock) {
+            if (!isSimulating()) return;
+            readInput();
+            if (recorder != null) {
+                try {
+                    recorder.record(input);
+                } catch (IOException e) {
+                    System.err.println("Recording failed: " + e.getMessage());
+                    recorder = null;
+                }
+            }
+            world.step(input);
+            if (world.running) rewind.capture(world);
+            profiler.setEntityCounts(world.enemies.size(), world.bullets.size(), world.particles.size());
+            profiler.setSpawnQueueDepth(world.spawner.queueDepth());
+            profiler.setBulletPool(world.bulletPool.highWater(), world.bulletPool.allocated(), world.bulletPool.reuseRatio());
+            updateScreenSize();
+            if (!world.running) {
+                stopRecording();
+                recordRun();
+            }
+            
+            if (!world.running && world.playerWins) {
+                winScreenTimeLeft = 10;
+                // Swing timers must be started on the EDT
+                SwingUtilities.invokeLater(winScreenTimer::start);
+            }
+        }
+    }
+    
+    private int bestScore() {
+        return stats != null ? stats.bestScore() : 0;
+    }
+    
+    // Queues the run that just ended, the store writes it on its own thread
+    private void recordRun() {
+        if (stats == null) return;
+        newBest = stats.record(new StatsStore.Run(System.currentTimeMillis(), runSeed, (int) world.tickCount, world.score,
+                                                  world.enemiesKilled, world.playerWins, world.cheatEnabled, runRestored)) == 0;
+    }
+    
+    @Override
+    public void render() {
+        if (active != null) {
+            active.present();
+            return;
+        }
+        synchronized (stateLock) {
+            if (!dirtyRepaint || !sceneComplete || !isSimulating()) {
+                repaint();
+                return;
+            }
+            // Swing merges repaint requests into one rectangle per panel, so
+            // request the bounding box and let paintScene clip to the tiles
+            markDirty(requestRegion);
+            Rectangle bounds = requestRegion.bounds();
+            bounds.add(paintedBounds);
+            repaint(bounds.x, bounds.y, bounds.width, bounds.height);
+        }
+    }
+    
+    private void readInput() {
+        Point aim = mousePosition;
+        input.up = keys[KeyEvent.VK_W];
+        input.down = keys[KeyEvent.VK_S];
+        input.left = keys[KeyEvent.VK_A];
+        input.right = keys[KeyEvent.VK_D];
+        input.aimX = aim.x;
+        input.aimY = aim.y;
+        input.cheat = cheatRequested;
+        cheatRequested = false;
+        // Hold spawns back while last second's median tick plus frame no longer fits in a tick
+        input.throttleSpawns = profiler.percentile(Profiler.Phase.TICK, 0.5)
+                               + profiler.percentile(Profiler.Phase.FRAME, 0.5) > GameLoop.TICK_NANOS;
+        input.explosionParticles = governor.explosionParticles();
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {
+        int keyCode = e.getKeyCode();
+
+        synchronized (stateLock) {
+            // Held keys are read by the loop thread under the same lock
+            if (keyCode < keys.length) keys[keyCode] = true;
+
+            if (keyCode == KeyEvent.VK_P && world.running) {
+                gamePaused = !gamePaused;
+            }
+
+            if (keyCode == KeyEvent.VK_ESCAPE) {
+                if (world.running) {
+                    gamePaused = !gamePaused;
+                }
+            }
+            
+            if (keyCode == KeyEvent.VK_F3) {
+                showPerfOverlay = !showPerfOverlay;
+                sceneComplete = false;
+            }
+            
+            if (keyCode == KeyEvent.VK_F4) {
+                dirtyRepaint = !dirtyRepaint;
+            }
+            
+            if (keyCode == KeyEvent.VK_F5) {
+                GameRenderer.EntityStyle[] styles = GameRenderer.EntityStyle.values();
+                GameRenderer.entityStyle = styles[(GameRenderer.entityStyle.ordinal() + 1) % styles.length];
+            }
+            
+            if (keyCode == KeyEvent.VK_F6) {
+                softwareRaster = !softwareRaster;
+            }
+            
+            if (keyCode == KeyEvent.VK_F7) {
+                governor.enabled = !governor.enabled;
+            }
+            
+            if (keyCode >= KeyEvent.VK_F4 && keyCode <= KeyEvent.VK_F7) {
+                renderMode = renderModeLabel();
+                sceneComplete = false;
+            }
+            
+            if (keyCode == KeyEvent.VK_F8) saveState();
+            if (keyCode == KeyEvent.VK_F9) loadState();
+            if (keyCode == KeyEvent.VK_BACK_SPACE) rewindState();
+            
+            // Cheat codes, applied by the simulation on its next tick
+            if (keyCode == KeyEvent.VK_H) {
+                if (world.running) {
+                    cheatRequested = true;
+                } else {
+                    world.enableCheat();
+                }
+            }
+        }
+        repaint();
+    }
+
+    @Override
+    public void keyReleased(KeyEvent e) {
+        int keyCode = e.getKeyCode();
+        synchronized (stateLock) {
+            if (keyCode < keys.length) keys[keyCode] = false;
+        }
+    }
+
+    @Override
+    public void keyTyped(KeyEvent e) {}
+
+    @Override
+    public void mouseClicked(MouseEvent e) {
+        synchronized (stateLock) {
+            if (world.playerWins || world.gameOver) {
+                winScreenTimer.stop();
+                startGame();
+            } else if (!world.running) {
+                if (startButton.contains(e.getPoint())) {
+                    startGame();
+                } else if (exitButton.contains(e.getPoint())) {
+                    System.exit(0);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void mousePressed(MouseEvent e) {}
+
+    @Override
+    public void mouseReleased(MouseEvent e) {}
+
+    @Override
+    public void mouseEntered(MouseEvent e) {}
+
+    @Override
+    public void mouseExited(MouseEvent e) {}
+
+    public static void main(String[] args) throws IOException {
+        JFrame frame = new JFrame("Fill The Screen");
+        FillTheScreen game = new FillTheScreen(frame);
+        boolean activeRendering = false, sync = false;
+        Path statsDirectory = Paths.get("stats");
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--active")) activeRendering = true;
+            else if (args[i].equals("--vsync")) sync = true;
+            else if (i + 1 == args.length) break;
+            else if (args[i].equals("--record")) game.setRecordDirectory(new File(args[++i]));
+            else if (args[i].equals("--save")) game.setSaveFile(Paths.get(args[++i]));
+            else if (args[i].equals("--stats")) statsDirectory = Paths.get(args[++i]);
+            else if (args[i].equals("--seed")) game.setSeed(Long.parseLong(args[++i]));
+            else if (args[i].equals("--perf-csv")) game.streamPerfStats(args[++i]);
+            else if (args[i].equals("--fps")) {
+                String fps = args[++i];
+                game.setFrameLimit(fps.equals("uncapped") ? GameLoop.UNCAPPED : Integer.parseInt(fps));
+            }
+        }
+        game.openStats(statsDirectory);
+        if (activeRendering) game.useActiveRendering(sync);
+        frame.add(game);
+        frame.pack();
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setLocation(0, 0);
+        frame.setVisible(true);
+    }
+}
\ No newline at end of file
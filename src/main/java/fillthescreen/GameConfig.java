@@ -0,0 +1,19 @@
+package fillthescreen;
+
+// Balance settings for a GameWorld. Defaults are the shipped game; the batch
+// runner overrides them to explore tuning without touching the code.
+class GameConfig {
+    int enemySpawnRate = GameWorld.ENEMY_SPAWN_RATE;           // enemies per 100 ticks on average
+    int maxLiveEnemies = GameWorld.MAX_LIVE_ENEMIES;           // spawns wait while this many are alive
+    int bossSpawnThreshold = GameWorld.BOSS_SPAWN_THRESHOLD;   // enemies killed to spawn boss
+    int bossHealth = GameWorld.BOSS_HEALTH;
+    int playerMaxHealth = GameWorld.PLAYER_MAX_HEALTH;
+    int growthWidth = 15, growthHeight = 10;                   // screen growth per kill
+    int bulletSpeed = GameWorld.BULLET_SPEED;                  // pixels per tick, collisions are swept
+
+    @Override
+    public String toString() {
+        return "spawnRate=" + enemySpawnRate + " maxEnemies=" + maxLiveEnemies + " bossThreshold=" + bossSpawnThreshold + " bossHealth=" + bossHealth
+             + " playerHealth=" + playerMaxHealth + " growth=" + growthWidth + "x" + growthHeight + " bulletSpeed=" + bulletSpeed;
+    }
+}
@@ -0,0 +1,18 @@
+package fillthescreen;
+
+// Player input for one simulation tick
+class GameInput {
+    boolean up, down, left, right;
+    int aimX, aimY;
+    boolean cheat; // one-shot, set on the tick the cheat key was pressed
+    boolean throttleSpawns; // the view is over its frame budget, see SpawnScheduler
+    int explosionParticles = GameWorld.EXPLOSION_PARTICLES; // lowered by QualityGovernor
+
+    public void clear() {
+        up = down = left = right = false;
+        aimX = aimY = 0;
+        cheat = false;
+        throttleSpawns = false;
+        explosionParticles = GameWorld.EXPLOSION_PARTICLES;
+    }
+}
@@ -0,0 +1,113 @@
+package fillthescreen;
+
+import java.util.concurrent.locks.LockSupport;
+
+// Fixed timestep game loop running on its own thread. Simulation advances in
+// TICK_NANOS steps no matter how long painting takes; rendering is requested
+// once per loop pass and interpolates between the last two ticks. With a
+// frame limit set, extra frames are rendered between ticks at that rate.
+class GameLoop implements Runnable {
+    public static final long TICK_NANOS = GameWorld.TICK_MILLIS * 1_000_000L;
+    public static final int MAX_CATCH_UP_TICKS = 5;
+    // Frame limits: one frame per tick, or frames back to back for benchmarking
+    public static final int PER_TICK = 0;
+    public static final int UNCAPPED = -1;
+
+    interface Listener {
+        boolean isSimulating();
+        void tick();
+        void render();
+    }
+
+    private final Listener listener;
+    private volatile boolean running = false;
+    private volatile long tickOrigin = System.nanoTime();
+    private volatile int frameLimit = PER_TICK;
+    private Thread thread;
+
+    public GameLoop(Listener listener) {
+        this.listener = listener;
+    }
+
+    public void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this, "game-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (thread != null) thread.interrupt();
+    }
+
+    // Frames per second to render while simulating, or PER_TICK / UNCAPPED
+    public void setFrameLimit(int framesPerSecond) {
+        frameLimit = framesPerSecond;
+    }
+
+    // Fraction of a tick elapsed since the last simulation step, in [0, 1]
+    public float interpolation() {
+        float alpha = (float) (System.nanoTime() - tickOrigin) / TICK_NANOS;
+        return Math.max(0f, Math.min(1f, alpha));
+    }
+
+    @Override
+    public void run() {
+        long previous = System.nanoTime();
+        long lastFrame = previous;
+        long accumulator = 0;
+
+        while (running) {
+            long now = System.nanoTime();
+            long elapsed = now - previous;
+            previous = now;
+
+            int ticks = 0;
+            if (listener.isSimulating()) {
+                accumulator += elapsed;
+                while (accumulator >= TICK_NANOS && ticks < MAX_CATCH_UP_TICKS) {
+                    listener.tick();
+                    accumulator -= TICK_NANOS;
+                    ticks++;
+                }
+                // Too far behind, drop the backlog instead of spiralling
+                if (accumulator >= TICK_NANOS) {
+                    accumulator %= TICK_NANOS;
+                }
+            } else {
+                accumulator = 0;
+            }
+            tickOrigin = now - accumulator;
+
+            int limit = frameLimit;
+            long frameNanos = limit > 0 ? 1_000_000_000L / limit : 0;
+            boolean simulating = listener.isSimulating();
+            // The frame after the last tick is always drawn so end screens show up
+            if ((ticks > 0 || simulating) && (!simulating || now - lastFrame >= frameNanos)) {
+                listener.render();
+                lastFrame = now;
+            }
+
+            long sleepNanos = TICK_NANOS - accumulator - (System.nanoTime() - now);
+            if (simulating && limit > 0) {
+                sleepNanos = Math.min(sleepNanos, lastFrame + frameNanos - System.nanoTime());
+            }
+            if (simulating && limit == UNCAPPED) {
+                Thread.yield();
+            } else if (limit == PER_TICK) {
+                try {
+                    Thread.sleep(Math.max(1, sleepNanos / 1_000_000L));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } else {
+                // Millisecond sleeps are too coarse to hold frame rates above 60
+                LockSupport.parkNanos(Math.max(100_000L, sleepNanos));
+                if (Thread.interrupted()) return;
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package fillthescreen;
+
+import java.awt.*;
+
+// Bullet class
+class Bullet {
+    int id; // network identity, assigned by GameWorld when fired
+    int x, y;
+    int prevX, prevY;
+    double dx, dy;
+
+    public Bullet() {
+    }
+
+    public Bullet(int x, int y, double angle, int speed) {
+        reset(x, y, angle, speed);
+    }
+    
+    // Reinitializes a pooled bullet
+    public Bullet reset(int x, int y, double angle, int speed) {
+        this.x = this.prevX = x;
+        this.y = this.prevY = y;
+        this.dx = speed * StrictMath.cos(angle);
+        this.dy = speed * StrictMath.sin(angle);
+        return this;
+    }
+    
+    public void update() {
+        prevX = x;
+        prevY = y;
+        x += dx;
+        y += dy;
+    }
+    
+    public boolean isOutOfBounds(int width, int height) {
+        return x < 0 || x > width || y < 0 || y > height;
+    }
+    
+    public boolean collidesWith(Rectangle other) {
+        return collidesAt(x, y, other);
+    }
+    
+    // Overlap test for the bullet box placed at (px, py), edges touching don't count
+    public static boolean collidesAt(int px, int py, Rectangle other) {
+        return collidesAt(px, py, other.x, other.y, other.width, other.height);
+    }
+    
+    public static boolean collidesAt(int px, int py, int otherX, int otherY, int width, int height) {
+        return px + GameWorld.BULLET_SIZE > otherX && 
+               px < otherX + width && 
+               py + GameWorld.BULLET_SIZE > otherY && 
+               py < otherY + height;
+    }
+    
+    public static final float MISS = Float.POSITIVE_INFINITY;
+    
+    // Swept version of collidesWith: the fraction of the last step, from
+    // (prevX, prevY) to (x, y), at which the bullet box first overlaps other,
+    // or MISS. Slab test of the path against other grown by the bullet size,
+    // so nothing is skipped however far a bullet moves in one tick.
+    public float sweep(Rectangle other) {
+        return sweep(other.x, other.y, other.width, other.height);
+    }
+    
+    public float sweep(int otherX, int otherY, int width, int height) {
+        float enter = 0f, exit = 1f;
+        
+        int dx = x - prevX;
+        float lo = otherX - GameWorld.BULLET_SIZE, hi = otherX + width;
+        if (dx == 0) {
+            if (prevX <= lo || prevX >= hi) return MISS;
+        } else {
+            float t1 = (lo - prevX) / dx, t2 = (hi - prevX) / dx;
+            enter = Math.max(enter, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+        
+        int dy = y - prevY;
+        lo = otherY - GameWorld.BULLET_SIZE;
+        hi = otherY + height;
+        if (dy == 0) {
+            if (prevY <= lo || prevY >= hi) return MISS;
+        } else {
+            float t1 = (lo - prevY) / dy, t2 = (hi - prevY) / dy;
+            enter = Math.max(enter, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+        
+        // Overlaps are open intervals like collidesWith, grazing an edge is not a hit
+        return enter < exit ? enter : MISS;
+    }
+}
+
+// How enemies turn their offset to the target into a unit direction
+enum Steering {
+    TRIG,              // atan2 + cos/sin on integer positions, the original behaviour
+    NORMALIZE,         // divide by Math.sqrt of the squared length
+    FAST_INVERSE_SQRT; // bit-trick inverse square root with one Newton step
+
+    // 1 / sqrt(lengthSquared) for the modes that scale the offset, TRIG doesn't
+    float inverseLength(float lengthSquared) {
+        return this == FAST_INVERSE_SQRT ? fastInverseSqrt(lengthSquared) : (float) (1.0 / Math.sqrt(lengthSquared));
+    }
+
+    static float fastInverseSqrt(float value) {
+        float half = 0.5f * value;
+        float y = Float.intBitsToFloat(0x5f3759df - (Float.floatToRawIntBits(value) >> 1));
+        return y * (1.5f - half * y * y);
+    }
+}
+
+// Boss class. Regular enemies live in an EnemyStore, there is only ever one boss.
+class Boss extends Rectangle {
+    int prevX, prevY;
+    float posX, posY; // sub-pixel position, x and y hold its integer part
+    
+    public Boss(int x, int y, int width, int height) {
+        super(x, y, width, height);
+        prevX = x;
+        prevY = y;
+        posX = x;
+        posY = y;
+    }
+    
+    // Same steering as EnemyStore.move
+    public void moveTowards(int targetX, int targetY, float speed, Steering steering) {
+        prevX = x;
+        prevY = y;
+        
+        if (steering == Steering.TRIG) {
+            double angle = StrictMath.atan2(targetY - y, targetX - x);
+            x += (int)(speed * StrictMath.cos(angle));
+            y += (int)(speed * StrictMath.sin(angle));
+            posX = x;
+            posY = y;
+            return;
+        }
+        
+        float dx = targetX - posX;
+        float dy = targetY - posY;
+        float lengthSquared = dx * dx + dy * dy;
+        if (lengthSquared < 1e-6f) return;
+        
+        float scale = speed * steering.inverseLength(lengthSquared);
+        posX += dx * scale;
+        posY += dy * scale;
+        x = (int) Math.floor(posX);
+        y = (int) Math.floor(posY);
+    }
+}
+
+// Another player sharing the arena with the local one, driven by its own
+// input (see ArenaServer). A guest at zero health is out until the next match.
+class Guest extends Rectangle {
+    final GameInput input = new GameInput();
+    int id; // network identity, assigned by ArenaServer
+    int prevX, prevY;
+    int health;
+    int shootClock;
+
+    public Guest() {
+        super(0, 0, GameWorld.PLAYER_SIZE, GameWorld.PLAYER_SIZE);
+    }
+
+    public boolean alive() {
+        return health > 0;
+    }
+}
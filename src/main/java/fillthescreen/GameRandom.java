@@ -0,0 +1,36 @@
+package fillthescreen;
+
+import java.util.Random;
+
+// java.util.Random with the same 48-bit LCG, but whose internal state can be
+// read back and restored. Used for seeded, reproducible simulation runs.
+class GameRandom extends Random {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state; // no initializer, Random's constructor sets it through setSeed
+
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    public long state() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
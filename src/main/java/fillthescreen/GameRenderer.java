@@ -0,0 +1,637 @@
+package fillthescreen;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+public class GameRenderer {
+    
+    static final Color PANEL_COLOR = new Color(30, 30, 40);
+    static final Color FILL_BAR_COLOR = new Color(100, 100, 255);
+    private static final Color SUBTITLE_COLOR = new Color(200, 200, 200);
+    private static final Color INSTRUCTION_COLOR = new Color(180, 180, 180);
+    private static final Color START_BUTTON_COLOR = new Color(0, 150, 0);
+    private static final Color START_BUTTON_HOVER = new Color(0, 200, 0);
+    private static final Color EXIT_BUTTON_COLOR = new Color(150, 0, 0);
+    private static final Color EXIT_BUTTON_HOVER = new Color(200, 0, 0);
+    private static final Color START_BUTTON_SHADE = START_BUTTON_COLOR.darker();
+    private static final Color EXIT_BUTTON_SHADE = EXIT_BUTTON_COLOR.darker();
+    private static final Color TITLE_COLOR_FROM = new Color(100, 150, 255);
+    private static final Color TITLE_COLOR_TO = new Color(150, 200, 255);
+    private static final RenderCache.Gradient TITLE_GRADIENT = new RenderCache.Gradient();
+    private static final RenderCache.Gradient START_GRADIENT = new RenderCache.Gradient();
+    private static final RenderCache.Gradient EXIT_GRADIENT = new RenderCache.Gradient();
+    private static final String[] INSTRUCTIONS = {
+        "WASD - Move",
+        "Mouse - Aim and Shoot",
+        "P - Pause",
+        "Escape - Return to Menu",
+        "CREDIT - 'NRIMIT_ANGANE'"
+    };
+    
+    private static final RenderCache.Label SCORE_LABEL = new RenderCache.Label("Score: ", "");
+    private static final RenderCache.Label FINAL_SCORE_LABEL = new RenderCache.Label("Final Score: ", "");
+    private static final RenderCache.Label TIME_LABEL = new RenderCache.Label("Time: ", "s");
+    private static final RenderCache.Label BEST_LABEL = new RenderCache.Label("Best: ", "");
+    private static final RenderCache.Label FILL_LABEL = new RenderCache.Label("Fill: ", "%");
+    private static final RenderCache.Label RESTART_LABEL = new RenderCache.Label("Auto-restart in: ", "s");
+    
+    // Static background layers, repainted only when the screen size changes
+    private static final BackgroundLayer GAME_BACKGROUND = new BackgroundLayer();
+    private static final BackgroundLayer MENU_BACKGROUND = new BackgroundLayer();
+    
+    // How bullets, enemies and the boss are drawn: an oval pair per entity,
+    // blitted pre-rendered sprites, or one filled path per layer and color
+    public enum EntityStyle { VECTOR, SPRITE, BATCHED }
+    
+    public static EntityStyle entityStyle = EntityStyle.SPRITE;
+    
+    // Quality switches flipped by QualityGovernor when frames run long
+    public static boolean glowEnabled = true;
+    public static boolean simpleGrid = false;
+    
+    // Batched style state, all reused between calls. Entities are bucketed
+    // into BATCH_CELL squares and each cell is filled as one glow path and
+    // one core path: a fill costs roughly its bounding box, so one path of
+    // entities scattered over the whole screen would be slower than ovals.
+    private static final int BATCH_CELL = 64;
+    private static final int BATCH_COLUMNS = 32, BATCH_ROWS = 16;
+    private static final Path2D.Float GLOW_PATH = new Path2D.Float(Path2D.WIND_NON_ZERO, 1024);
+    private static final Path2D.Float CORE_PATH = new Path2D.Float(Path2D.WIND_NON_ZERO, 1024);
+    private static final int[] batchCellStart = new int[BATCH_COLUMNS * BATCH_ROWS + 1];
+    private static int[] batchX = new int[256], batchY = new int[256], batchW = new int[256], batchH = new int[256];
+    private static int[] batchCell = new int[256], batchOrder = new int[256];
+    private static int batchCount = 0;
+    // Control point distance for a cubic Bezier quarter circle
+    private static final float KAPPA = 0.5522848f;
+    
+    // Rasterizes the entity sprites up front so the first frames don't pay for it
+    public static void prepareSprites(GraphicsConfiguration gc, Color bulletColor, int bulletSize,
+                                      Color enemyColor, int enemySize, Color bossColor, int bossSize) {
+        bulletSprite(bulletColor, bulletSize).prepare(gc);
+        enemySprite(enemyColor, enemySize).prepare(gc);
+        bossSprite(bossColor, bossSize).prepare(gc);
+    }
+    
+    private static SpriteAtlas.Sprite bulletSprite(Color bulletColor, int bulletSize) {
+        return glowSprite(bulletSize, 2, RenderCache.withAlpha(Color.WHITE, 100), bulletColor);
+    }
+    
+    private static SpriteAtlas.Sprite enemySprite(Color enemyColor, int enemySize) {
+        return glowSprite(enemySize, 2, RenderCache.withAlpha(enemyColor, 50), enemyColor);
+    }
+    
+    private static SpriteAtlas.Sprite bossSprite(Color bossColor, int bossSize) {
+        return glowSprite(bossSize, 10, RenderCache.withAlpha(bossColor, 50), bossColor);
+    }
+    
+    // Without glow the sprite shrinks to its core, which also blits fewer pixels
+    private static SpriteAtlas.Sprite glowSprite(int size, int pad, Color glowColor, Color coreColor) {
+        if (glowEnabled) return SpriteAtlas.get(size, pad, glowColor, coreColor);
+        return SpriteAtlas.get(size, 0, RenderCache.withAlpha(coreColor, 0), coreColor);
+    }
+    
+    // Appends a clockwise ellipse in the box (x, y, w, h), all ellipses wind
+    // the same way so overlaps stay filled under the non-zero rule
+    private static void appendOval(Path2D.Float path, float x, float y, float w, float h) {
+        float rx = w / 2, ry = h / 2, cx = x + rx, cy = y + ry;
+        float kx = rx * KAPPA, ky = ry * KAPPA;
+        path.moveTo(cx + rx, cy);
+        path.curveTo(cx + rx, cy + ky, cx + kx, cy + ry, cx, cy + ry);
+        path.curveTo(cx - kx, cy + ry, cx - rx, cy + ky, cx - rx, cy);
+        path.curveTo(cx - rx, cy - ky, cx - kx, cy - ry, cx, cy - ry);
+        path.curveTo(cx + kx, cy - ry, cx + rx, cy - ky, cx + rx, cy);
+        path.closePath();
+    }
+    
+    private static void beginBatch(int count) {
+        if (batchX.length < count) {
+            int capacity = Math.max(count, batchX.length * 2);
+            batchX = new int[capacity];
+            batchY = new int[capacity];
+            batchW = new int[capacity];
+            batchH = new int[capacity];
+            batchCell = new int[capacity];
+            batchOrder = new int[capacity];
+            RenderCache.countAllocations(6);
+        }
+        batchCount = count;
+        Arrays.fill(batchCellStart, 0);
+    }
+    
+    private static void addToBatch(int i, int x, int y, int width, int height) {
+        int column = Math.max(0, Math.min(BATCH_COLUMNS - 1, x / BATCH_CELL));
+        int row = Math.max(0, Math.min(BATCH_ROWS - 1, y / BATCH_CELL));
+        batchX[i] = x;
+        batchY[i] = y;
+        batchW[i] = width;
+        batchH[i] = height;
+        batchCell[i] = row * BATCH_COLUMNS + column;
+        batchCellStart[batchCell[i] + 1]++;
+    }
+    
+    // Counting-sorts the batch by cell, then fills each cell's glows and
+    // cores as two paths. Glows go first so no glow covers a core in its cell.
+    // With glow off the glow path is never built.
+    private static void fillBatches(Graphics2D g2d, int glowPad, Color glowColor, Color coreColor) {
+        boolean glow = glowEnabled;
+        int cells = batchCellStart.length - 1;
+        for (int c = 0; c < cells; c++) batchCellStart[c + 1] += batchCellStart[c];
+        for (int i = 0; i < batchCount; i++) batchOrder[batchCellStart[batchCell[i]]++] = i;
+        // Each start was advanced to the next cell's start, walk the order array instead
+        int start = 0;
+        for (int c = 0; c < cells; c++) {
+            int end = batchCellStart[c];
+            if (end == start) continue;
+            GLOW_PATH.reset();
+            CORE_PATH.reset();
+            for (int k = start; k < end; k++) {
+                int i = batchOrder[k];
+                if (glow) appendOval(GLOW_PATH, batchX[i] - glowPad, batchY[i] - glowPad, batchW[i] + glowPad * 2, batchH[i] + glowPad * 2);
+                appendOval(CORE_PATH, batchX[i], batchY[i], batchW[i], batchH[i]);
+            }
+            if (glow) {
+                g2d.setColor(glowColor);
+                g2d.fill(GLOW_PATH);
+            }
+            g2d.setColor(coreColor);
+            g2d.fill(CORE_PATH);
+            start = end;
+        }
+    }
+    
+    // Position between the previous and current tick for interpolated drawing
+    public static int lerp(int previous, int current, float alpha) {
+        return previous + Math.round((current - previous) * alpha);
+    }
+    
+    public static void drawBackground(Graphics2D g2d, int screenWidth, int screenHeight, Color gridColor) {
+        // Gradient and grid only change with the screen size, repaint the cached layer on resize
+        int key = simpleGrid ? ~gridColor.getRGB() : gridColor.getRGB();
+        if (!GAME_BACKGROUND.matches(screenWidth, screenHeight, key)) {
+            Graphics2D layer = GAME_BACKGROUND.redraw(g2d.getDeviceConfiguration(), screenWidth, screenHeight, key);
+            paintBackground(layer, screenWidth, screenHeight, gridColor);
+            layer.dispose();
+        }
+        GAME_BACKGROUND.draw(g2d);
+    }
+    
+    private static void paintBackground(Graphics2D g2d, int screenWidth, int screenHeight, Color gridColor) {
+        if (simpleGrid) {
+            // Flat fill and half the lines, cheaper to rebuild on every resize
+            g2d.setColor(PANEL_COLOR.darker());
+            g2d.fillRect(0, 0, screenWidth, screenHeight);
+            g2d.setColor(gridColor);
+            for (int i = 0; i < screenWidth; i += 100) g2d.drawLine(i, 0, i, screenHeight);
+            for (int j = 0; j < screenHeight; j += 100) g2d.drawLine(0, j, screenWidth, j);
+            return;
+        }
+        
+        // Draw gradient background
+        GradientPaint gradient = new GradientPaint(0, 0, new Color(15, 15, 25), 
+                       screenWidth, screenHeight, new Color(25, 25, 35));
+        g2d.setPaint(gradient);
+        g2d.fillRect(0, 0, screenWidth, screenHeight);
+        
+        // Draw grid
+        g2d.setColor(gridColor);
+        int gridSize = 50;
+        for (int i = 0; i < screenWidth; i += gridSize) {
+            g2d.drawLine(i, 0, i, screenHeight);
+        }
+        for (int j = 0; j < screenHeight; j += gridSize) {
+            g2d.drawLine(0, j, screenWidth, j);
+        }
+    }
+    
+    public static void drawParticles(Graphics2D g2d, ParticleSystem particles) {
+        for (int i = 0; i < particles.size(); i++) {
+            g2d.setColor(RenderCache.withAlpha(particles.rgb[i], particles.alpha[i]));
+            g2d.fillOval((int) particles.x[i], (int) particles.y[i], particles.size[i], particles.size[i]);
+        }
+    }
+    
+    public static void drawPlayer(Graphics2D g2d, Rectangle player, Color playerColor, int playerSize) {
+        // Player glow effect
+        if (glowEnabled) {
+            g2d.setColor(RenderCache.withAlpha(playerColor, 50));
+            g2d.fillOval(player.x - 5, player.y - 5, player.width + 10, player.height + 10);
+        }
+        
+        // Player main
+        g2d.setColor(playerColor);
+        g2d.setStroke(RenderCache.stroke(3));
+        g2d.drawOval(player.x, player.y, player.width, player.height);
+    }
+    
+    public static void drawBullets(Graphics2D g2d, ArrayList<Bullet> bullets, Color bulletColor, int bulletSize, float alpha) {
+        if (entityStyle == EntityStyle.BATCHED) {
+            beginBatch(bullets.size());
+            for (int i = 0; i < bullets.size(); i++) {
+                Bullet bullet = bullets.get(i);
+                addToBatch(i, lerp(bullet.prevX, bullet.x, alpha), lerp(bullet.prevY, bullet.y, alpha), bulletSize, bulletSize);
+            }
+            fillBatches(g2d, 2, RenderCache.withAlpha(Color.WHITE, 100), bulletColor);
+            return;
+        }
+        
+        SpriteAtlas.Sprite sprite = entityStyle == EntityStyle.SPRITE ? bulletSprite(bulletColor, bulletSize) : null;
+        if (sprite != null && sprite.prepare(g2d.getDeviceConfiguration())) {
+            for (Bullet bullet : bullets) {
+                sprite.draw(g2d, lerp(bullet.prevX, bullet.x, alpha), lerp(bullet.prevY, bullet.y, alpha));
+            }
+            if (!sprite.contentsLost()) return;
+        }
+        
+        Color glowColor = RenderCache.withAlpha(Color.WHITE, 100);
+        for (Bullet bullet : bullets) {
+            int x = lerp(bullet.prevX, bullet.x, alpha);
+            int y = lerp(bullet.prevY, bullet.y, alpha);
+            
+            // Bullet glow
+            if (glowEnabled) {
+                g2d.setColor(glowColor);
+                g2d.fillOval(x - 2, y - 2, bulletSize + 4, bulletSize + 4);
+            }
+            
+            // Bullet core
+            g2d.setColor(bulletColor);
+            g2d.fillOval(x, y, bulletSize, bulletSize);
+        }
+    }
+    
+    public static void drawEnemies(Graphics2D g2d, EnemyStore enemies, Color enemyColor, float alpha) {
+        if (enemies.isEmpty()) return;
+        int width = enemies.width, height = enemies.height;
+        if (entityStyle == EntityStyle.BATCHED) {
+            beginBatch(enemies.size());
+            for (int i = 0; i < enemies.size(); i++) {
+                addToBatch(i, lerp(enemies.prevX[i], enemies.x[i], alpha), lerp(enemies.prevY[i], enemies.y[i], alpha), width, height);
+            }
+            fillBatches(g2d, 2, RenderCache.withAlpha(enemyColor, 50), enemyColor);
+            return;
+        }
+        
+        SpriteAtlas.Sprite sprite = entityStyle == EntityStyle.SPRITE && width == height ? enemySprite(enemyColor, width) : null;
+        if (sprite != null && sprite.prepare(g2d.getDeviceConfiguration())) {
+            for (int i = 0; i < enemies.size(); i++) {
+                sprite.draw(g2d, lerp(enemies.prevX[i], enemies.x[i], alpha), lerp(enemies.prevY[i], enemies.y[i], alpha));
+            }
+            if (!sprite.contentsLost()) return;
+        }
+        
+        for (int i = 0; i < enemies.size(); i++) {
+            drawEnemyShape(g2d, lerp(enemies.prevX[i], enemies.x[i], alpha), lerp(enemies.prevY[i], enemies.y[i], alpha),
+                           width, height, enemyColor);
+        }
+    }
+    
+    private static void drawEnemyShape(Graphics2D g2d, int x, int y, int width, int height, Color enemyColor) {
+        // Enemy glow
+        if (glowEnabled) {
+            g2d.setColor(RenderCache.withAlpha(enemyColor, 50));
+            g2d.fillOval(x - 2, y - 2, width + 4, height + 4);
+        }
+        
+        // Enemy core
+        g2d.setColor(enemyColor);
+        g2d.fillOval(x, y, width, height);
+    }
+    
+    public static void drawBoss(Graphics2D g2d, Boss boss, Color bossColor, int bossHealth, int maxBossHealth, int bossSize, float alpha) {
+        int x = lerp(boss.prevX, boss.x, alpha);
+        int y = lerp(boss.prevY, boss.y, alpha);
+        
+        SpriteAtlas.Sprite sprite = entityStyle == EntityStyle.SPRITE && boss.width == boss.height ? bossSprite(bossColor, boss.width) : null;
+        boolean blitted = false;
+        if (sprite != null && sprite.prepare(g2d.getDeviceConfiguration())) {
+            sprite.draw(g2d, x, y);
+            blitted = !sprite.contentsLost();
+        }
+        
+        if (!blitted) {
+            // Boss glow
+            if (glowEnabled) {
+                g2d.setColor(RenderCache.withAlpha(bossColor, 50));
+                g2d.fillOval(x - 10, y - 10, boss.width + 20, boss.height + 20);
+            }
+            
+            // Boss main
+            g2d.setColor(bossColor);
+            g2d.fillOval(x, y, boss.width, boss.height);
+        }
+        
+        // Boss health bar
+        int healthBarWidth = bossSize;
+        int healthBarHeight = 10;
+        g2d.setColor(Color.RED);
+        g2d.fillRect(x, y - 15, healthBarWidth, healthBarHeight);
+        g2d.setColor(Color.GREEN);
+        g2d.fillRect(x, y - 15, (int)(healthBarWidth * ((float)bossHealth / maxBossHealth)), healthBarHeight);
+    }
+    
+    public static void drawHUD(Graphics2D g2d, int playerHealth, int maxPlayerHealth, int score, long elapsedMillis, 
+                              int screenWidth, int screenHeight, int maxWidth, int maxHeight) {
+        drawHUDBars(g2d, playerHealth, maxPlayerHealth, screenWidth, screenHeight, maxWidth, maxHeight);
+        drawHUDText(g2d, score, elapsedMillis, screenWidth, screenHeight, maxWidth, maxHeight);
+    }
+    
+    // Fraction of the maximum screen area reached, shown as the fill bar
+    public static float fillProgress(int screenWidth, int screenHeight, int maxWidth, int maxHeight) {
+        return Math.min((float)screenWidth / maxWidth, (float)screenHeight / maxHeight);
+    }
+    
+    public static void drawHUDBars(Graphics2D g2d, int playerHealth, int maxPlayerHealth,
+                                   int screenWidth, int screenHeight, int maxWidth, int maxHeight) {
+        // Player health bar
+        g2d.setColor(PANEL_COLOR);
+        g2d.fillRect(20, 20, maxPlayerHealth + 4, 14);
+        g2d.setColor(Color.RED);
+        g2d.fillRect(22, 22, maxPlayerHealth, 10);
+        g2d.setColor(Color.GREEN);
+        g2d.fillRect(22, 22, playerHealth, 10);
+        
+        // Screen fill progress
+        int progressWidth = 200;
+        float fillProgress = fillProgress(screenWidth, screenHeight, maxWidth, maxHeight);
+        g2d.setColor(PANEL_COLOR);
+        g2d.fillRect(screenWidth - progressWidth - 30, 20, progressWidth + 4, 14);
+        g2d.setColor(FILL_BAR_COLOR);
+        g2d.fillRect(screenWidth - progressWidth - 28, 22, (int)(progressWidth * fillProgress), 10);
+    }
+    
+    public static void drawHUDText(Graphics2D g2d, int score, long elapsedMillis,
+                                   int screenWidth, int screenHeight, int maxWidth, int maxHeight) {
+        // Score and time
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(RenderCache.FONT_BOLD_20);
+        g2d.drawString(SCORE_LABEL.text(score), 20, 50);
+        
+        long elapsedTime = elapsedMillis / 1000;
+        g2d.drawString(TIME_LABEL.text(elapsedTime), 20, 80);
+        
+        int progressWidth = 200;
+        float fillProgress = fillProgress(screenWidth, screenHeight, maxWidth, maxHeight);
+        g2d.drawString(FILL_LABEL.text((int)(fillProgress * 100)), screenWidth - progressWidth - 30, 50);
+    }
+    
+    // Debug overlay with frame rate, tick and frame percentiles, entity
+    // counts and bullet pool figures. Its text is rebuilt once per profiler window, like the figures
+    // it shows, so the overlay doesn't allocate in the frames it measures.
+    private static final String[] overlayLines = new String[7];
+    private static long overlayWindow = -1;
+    private static String overlayMode;
+    private static long overlayBytes, overlayFrames;
+
+    public static void drawPerfOverlay(Graphics2D g2d, Profiler profiler, String renderMode, int x, int y) {
+        if (profiler.windows() != overlayWindow || !renderMode.equals(overlayMode)) {
+            updateOverlay(profiler, renderMode);
+        }
+        g2d.setColor(RenderCache.withAlpha(Color.BLACK, 150));
+        g2d.fillRect(x, y, 360, overlayLines.length * 16 + 8);
+        g2d.setFont(RenderCache.FONT_MONO_12);
+        g2d.setColor(Color.WHITE);
+        for (int i = 0; i < overlayLines.length; i++) {
+            g2d.drawString(overlayLines[i], x + 6, y + 16 + i * 16);
+        }
+    }
+
+    private static void updateOverlay(Profiler profiler, String renderMode) {
+        overlayWindow = profiler.windows();
+        overlayMode = renderMode;
+        // Average heap bytes per frame since the last update
+        long frames = RenderCache.measuredFrames() - overlayFrames;
+        long bytes = RenderCache.totalFrameBytes() - overlayBytes;
+        overlayFrames = RenderCache.measuredFrames();
+        overlayBytes = RenderCache.totalFrameBytes();
+        String alloc = frames > 0 ? bytes / frames + " B" : "n/a";
+
+        overlayLines[0] = "FPS " + profiler.fps() + "   alloc/frame " + alloc;
+        overlayLines[1] = String.format("tick  p50 %.2f  p99 %.2f  max %.2f ms", ms(profiler.percentile(Profiler.Phase.TICK, 0.5)),
+                                        ms(profiler.percentile(Profiler.Phase.TICK, 0.99)), ms(profiler.max(Profiler.Phase.TICK)));
+        overlayLines[2] = String.format("frame p50 %.2f  p99 %.2f  max %.2f ms", ms(profiler.percentile(Profiler.Phase.FRAME, 0.5)),
+                                        ms(profiler.percentile(Profiler.Phase.FRAME, 0.99)), ms(profiler.max(Profiler.Phase.FRAME)));
+        overlayLines[3] = String.format("pace  p50 %.2f  p99 %.2f  max %.2f ms  %s", ms(profiler.percentile(Profiler.Phase.FRAME_INTERVAL, 0.5)),
+                                        ms(profiler.percentile(Profiler.Phase.FRAME_INTERVAL, 0.99)), ms(profiler.max(Profiler.Phase.FRAME_INTERVAL)),
+                                        profiler.presentation());
+        overlayLines[4] = "enemies " + profiler.enemies() + " (+" + profiler.spawnQueue() + " queued)  bullets " + profiler.bullets()
+                          + "  particles " + profiler.particles();
+        overlayLines[5] = String.format("bullet pool  high %d  allocated %d  reuse %.1f%%", profiler.poolHighWater(),
+                                        profiler.poolAllocated(), profiler.poolReuse() * 100);
+        overlayLines[6] = renderMode + "  " + profiler.repaintPixels() + " px/frame";
+    }
+    
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+    
+    public static void drawPauseScreen(Graphics2D g2d, int screenWidth, int screenHeight) {
+        g2d.setColor(RenderCache.withAlpha(Color.BLACK, 150));
+        g2d.fillRect(0, 0, screenWidth, screenHeight);
+        g2d.setFont(RenderCache.FONT_BOLD_40);
+        g2d.setColor(Color.WHITE);
+        g2d.drawString("PAUSED", screenWidth / 2 - 80, screenHeight / 2);
+    }
+    
+    public static void drawWinScreen(Graphics2D g2d, int screenWidth, int screenHeight, int score, long elapsedMillis, int bestScore, boolean newBest, int timeLeft) {
+        g2d.setColor(RenderCache.withAlpha(Color.BLACK, 200));
+        g2d.fillRect(0, 0, screenWidth, screenHeight);
+        
+        g2d.setFont(RenderCache.FONT_BOLD_40);
+        g2d.setColor(Color.YELLOW);
+        g2d.drawString("YOU WIN!", screenWidth / 2 - 100, screenHeight / 2 - 30);
+        
+        g2d.setFont(RenderCache.FONT_PLAIN_20);
+        g2d.setColor(Color.WHITE);
+        g2d.drawString(FINAL_SCORE_LABEL.text(score), screenWidth / 2 - 60, screenHeight / 2 + 20);
+        
+        long elapsedTime = elapsedMillis / 1000;
+        g2d.drawString(TIME_LABEL.text(elapsedTime), screenWidth / 2 - 40, screenHeight / 2 + 50);
+        drawBestScore(g2d, screenWidth, screenHeight, bestScore, newBest);
+        
+        g2d.drawString("Click to Restart", screenWidth / 2 - 80, screenHeight / 2 + 120);
+        g2d.drawString(RESTART_LABEL.text(timeLeft), screenWidth / 2 - 100, screenHeight / 2 + 150);
+    }
+    
+    public static void drawGameOverScreen(Graphics2D g2d, int screenWidth, int screenHeight, int score, long elapsedMillis, int bestScore, boolean newBest) {
+        g2d.setColor(RenderCache.withAlpha(Color.BLACK, 200));
+        g2d.fillRect(0, 0, screenWidth, screenHeight);
+        
+        g2d.setFont(RenderCache.FONT_BOLD_40);
+        g2d.setColor(Color.RED);
+        g2d.drawString("GAME OVER", screenWidth / 2 - 120, screenHeight / 2 - 30);
+        
+        g2d.setFont(RenderCache.FONT_PLAIN_20);
+        g2d.setColor(Color.WHITE);
+        g2d.drawString(SCORE_LABEL.text(score), screenWidth / 2 - 40, screenHeight / 2 + 20);
+        
+        long elapsedTime = elapsedMillis / 1000;
+        g2d.drawString(TIME_LABEL.text(elapsedTime), screenWidth / 2 - 40, screenHeight / 2 + 50);
+        drawBestScore(g2d, screenWidth, screenHeight, bestScore, newBest);
+        
+        g2d.drawString("Click to Restart", screenWidth / 2 - 80, screenHeight / 2 + 120);
+    }
+    
+    // Best score kept by the StatsStore, the finished run already counts
+    private static void drawBestScore(Graphics2D g2d, int screenWidth, int screenHeight, int bestScore, boolean newBest) {
+        if (newBest) {
+            g2d.setColor(Color.YELLOW);
+            g2d.drawString("New best!", screenWidth / 2 - 45, screenHeight / 2 + 80);
+            g2d.setColor(Color.WHITE);
+        } else if (bestScore > 0) {
+            g2d.drawString(BEST_LABEL.text(bestScore), screenWidth / 2 - 40, screenHeight / 2 + 80);
+        }
+    }
+    
+    public static void drawMainMenu(Graphics2D g2d, int screenWidth, int screenHeight, Rectangle startButton, Rectangle exitButton, Random random) {
+        drawMainMenuBackground(g2d, screenWidth, screenHeight, random);
+        
+        // Title
+        g2d.setFont(RenderCache.FONT_BOLD_50);
+        g2d.setPaint(TITLE_GRADIENT.paint(screenWidth/2 - 150, screenHeight/2 - 150, TITLE_COLOR_FROM,
+                                          screenWidth/2 + 150, screenHeight/2 - 100, TITLE_COLOR_TO));
+        g2d.drawString("FILL THE SCREEN", screenWidth/2 - 180, screenHeight/2 - 100);
+        
+        // Subtitle
+        g2d.setFont(RenderCache.FONT_PLAIN_20);
+        g2d.setColor(SUBTITLE_COLOR);
+        g2d.drawString("Survive and expand your screen to win!", screenWidth/2 - 160, screenHeight/2 - 60);
+        
+        // Start button
+        drawMenuButton(g2d, startButton, "START", START_GRADIENT, START_BUTTON_COLOR, START_BUTTON_SHADE, START_BUTTON_HOVER);
+        
+        // Exit button
+        drawMenuButton(g2d, exitButton, "EXIT", EXIT_GRADIENT, EXIT_BUTTON_COLOR, EXIT_BUTTON_SHADE, EXIT_BUTTON_HOVER);
+        
+        // Instructions
+        g2d.setFont(RenderCache.FONT_PLAIN_16);
+        g2d.setColor(INSTRUCTION_COLOR);
+        for (int i = 0; i < INSTRUCTIONS.length; i++) {
+            g2d.drawString(INSTRUCTIONS[i], 50, screenHeight - 120 + (i * 25));
+        }
+    }
+    
+    private static void drawMainMenuBackground(Graphics2D g2d, int screenWidth, int screenHeight, Random random) {
+        if (!MENU_BACKGROUND.matches(screenWidth, screenHeight, 0)) {
+            Graphics2D layer = MENU_BACKGROUND.redraw(g2d.getDeviceConfiguration(), screenWidth, screenHeight, 0);
+            paintMainMenuBackground(layer, screenWidth, screenHeight, random);
+            layer.dispose();
+        }
+        MENU_BACKGROUND.draw(g2d);
+    }
+    
+    private static void paintMainMenuBackground(Graphics2D g2d, int screenWidth, int screenHeight, Random random) {
+        // Background with a star field, fixed once painted into the layer
+        GradientPaint bgGradient = new GradientPaint(0, 0, new Color(10, 10, 20), 
+                                   screenWidth, screenHeight, new Color(20, 20, 40));
+        g2d.setPaint(bgGradient);
+        g2d.fillRect(0, 0, screenWidth, screenHeight);
+        
+        // Draw some stars/particles
+        g2d.setColor(new Color(255, 255, 255, 100));
+        for (int i = 0; i < 50; i++) {
+            int x = random.nextInt(screenWidth);
+            int y = random.nextInt(screenHeight);
+            int size = random.nextInt(3) + 1;
+            g2d.fillOval(x, y, size, size);
+        }
+        
+        // Draw grid overlay
+        g2d.setColor(new Color(50, 50, 70, 30));
+        int gridSize = 40;
+        for (int i = 0; i < screenWidth; i += gridSize) {
+            g2d.drawLine(i, 0, i, screenHeight);
+        }
+        for (int j = 0; j < screenHeight; j += gridSize) {
+            g2d.drawLine(0, j, screenWidth, j);
+        }
+    }
+    
+    private static void drawMenuButton(Graphics2D g2d, Rectangle button, String text, RenderCache.Gradient gradient,
+                                       Color baseColor, Color shadeColor, Color hoverColor) {
+        // Button background with gradient
+        g2d.setPaint(gradient.paint(button.x, button.y, baseColor, button.x, button.y + button.height, shadeColor));
+        g2d.fillRoundRect(button.x, button.y, button.width, button.height, 10, 10);
+        
+        // Button border
+        g2d.setColor(hoverColor);
+        g2d.setStroke(RenderCache.stroke(2));
+        g2d.drawRoundRect(button.x, button.y, button.width, button.height, 10, 10);
+        
+        // Button text
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(RenderCache.FONT_BOLD_24);
+        FontMetrics fm = g2d.getFontMetrics();
+        int textWidth = fm.stringWidth(text);
+        int textHeight = fm.getHeight();
+        g2d.drawString(text, 
+            button.x + (button.width - textWidth) / 2, 
+            button.y + (button.height + textHeight / 2) / 2);
+    }
+    
+    public static void drawExplosion(Graphics2D g2d, int x, int y, int radius, Color color, int alpha) {
+        g2d.setColor(RenderCache.withAlpha(color, alpha));
+        g2d.fillOval(x - radius, y - radius, radius * 2, radius * 2);
+        
+        // Inner bright core
+        g2d.setColor(RenderCache.withAlpha(Color.WHITE, alpha / 2));
+        g2d.fillOval(x - radius/2, y - radius/2, radius, radius);
+    }
+    
+    public static void drawPowerUp(Graphics2D g2d, Rectangle powerUp, Color color) {
+        // Rotating power-up with glow effect
+        long time = System.currentTimeMillis();
+        float rotation = (time % 2000) / 2000.0f * 360;
+        
+        // Glow effect
+        g2d.setColor(RenderCache.withAlpha(color, 100));
+        g2d.fillOval(powerUp.x - 5, powerUp.y - 5, powerUp.width + 10, powerUp.height + 10);
+        
+        // Main power-up
+        g2d.setColor(color);
+        g2d.fillRect(powerUp.x, powerUp.y, powerUp.width, powerUp.height);
+        
+        // Cross pattern
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(powerUp.x + powerUp.width/2 - 2, powerUp.y, 4, powerUp.height);
+        g2d.fillRect(powerUp.x, powerUp.y + powerUp.height/2 - 2, powerUp.width, 4);
+    }
+    
+    public static void drawAimingArrow(Graphics2D g2d, Rectangle player, Point mousePosition, int playerSize) {
+        // Calculate player center
+        int playerCenterX = player.x + playerSize / 2;
+        int playerCenterY = player.y + playerSize / 2;
+        
+        // Calculate angle to mouse
+        double angle = Math.atan2(mousePosition.y - playerCenterY, mousePosition.x - playerCenterX);
+        
+        // Arrow properties
+        int arrowLength = 40;
+        int arrowEndX = playerCenterX + (int)(Math.cos(angle) * arrowLength);
+        int arrowEndY = playerCenterY + (int)(Math.sin(angle) * arrowLength);
+        
+        // Draw aiming line
+        g2d.setColor(RenderCache.withAlpha(Color.WHITE, 150));
+        g2d.setStroke(RenderCache.stroke(2));
+        g2d.drawLine(playerCenterX, playerCenterY, arrowEndX, arrowEndY);
+        
+        // Draw arrowhead
+        int arrowHeadSize = 8;
+        double arrowHeadAngle = Math.PI / 6; // 30 degrees
+        
+        int arrowHead1X = arrowEndX - (int)(Math.cos(angle - arrowHeadAngle) * arrowHeadSize);
+        int arrowHead1Y = arrowEndY - (int)(Math.sin(angle - arrowHeadAngle) * arrowHeadSize);
+        
+        int arrowHead2X = arrowEndX - (int)(Math.cos(angle + arrowHeadAngle) * arrowHeadSize);
+        int arrowHead2Y = arrowEndY - (int)(Math.sin(angle + arrowHeadAngle) * arrowHeadSize);
+        
+        g2d.drawLine(arrowEndX, arrowEndY, arrowHead1X, arrowHead1Y);
+        g2d.drawLine(arrowEndX, arrowEndY, arrowHead2X, arrowHead2Y);
+        
+        // Draw small dot at arrow tip for better visibility
+        g2d.setColor(RenderCache.withAlpha(Color.WHITE, 200));
+        g2d.fillOval(arrowEndX - 2, arrowEndY - 2, 4, 4);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,632 @@
+package fillthescreen;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+// The whole game simulation: player, bullets, enemies, boss, particles and
+// score, advanced one fixed tick at a time by step(). It has no display or
+// Swing dependency, so it can run headless and many worlds can share a JVM.
+// Trigonometry goes through StrictMath so recordings and arena clients
+// replay the same ticks on every JDK and CPU; only rendering uses Math.
+class GameWorld {
+    // Game constants
+    static final int TICK_MILLIS = 16;
+    static final int INITIAL_WIDTH = 800, INITIAL_HEIGHT = 600;
+    static final int MAX_WIDTH = 1366, MAX_HEIGHT = 768;
+    static final int PLAYER_SIZE = 50, BULLET_SIZE = 10, ENEMY_SIZE = 20;
+    static final int BOSS_SIZE = 100;
+    static final int PLAYER_SPEED = 5;
+    static final int BULLET_SPEED = 10;
+    static final float ENEMY_SPEED = 2.5f;
+    static final int BOSS_SPEED = 2;
+    static final int PLAYER_MAX_HEALTH = 200;
+    static final int BOSS_HEALTH = 200;
+    static final int ENEMY_SPAWN_RATE = 5; // enemies per 100 ticks, planned in waves
+    static final int MAX_LIVE_ENEMIES = 400;
+    static final int EXPLOSION_PARTICLES = 15;
+    static final int BOSS_SPAWN_THRESHOLD = 10; // enemies killed to spawn boss
+    static final int CHEAT_MAX_HEALTH = 1000;
+    static final int CHEAT_SHOOT_DELAY = 5;
+
+    // Explosion particle colors
+    static final int ENEMY_RGB = 0xFF3232;
+    static final int BOSS_RGB = 0xFFA500;
+
+    // Game objects
+    final Rectangle player;
+    final ArrayList<Bullet> bullets = new ArrayList<>();
+    final EnemyStore enemies = new EnemyStore(ENEMY_SIZE, ENEMY_SIZE);
+    Boss boss;
+    final ParticleSystem particles = new ParticleSystem();
+    final EntityPool<Bullet> bulletPool = new EntityPool<>(Bullet::new);
+    final GameRandom random;
+    final GameConfig config;
+    final SpawnScheduler spawner = new SpawnScheduler();
+    
+    // Extra players in a shared arena. With none the simulation is exactly
+    // the single-player one; with guests enemies and the boss chase whichever
+    // living player is nearest. The match still ends when the local player,
+    // the host, falls.
+    final ArrayList<Guest> guests = new ArrayList<>();
+    private int nextEntityId = 0; // restarts with every match, see ArenaServer.nextMatch
+
+    // Game state
+    boolean running = false;
+    boolean gameOver = false;
+    boolean playerWins = false;
+    int screenWidth = INITIAL_WIDTH;
+    int screenHeight = INITIAL_HEIGHT;
+    int enemiesKilled = 0;
+    int playerMaxHealth;
+    int playerHealth;
+    int bossHealth;
+    int score = 0;
+    long tickCount = 0;
+    int autoShootDelay = 150;
+    int shootClock = 0; // simulated milliseconds since the last shot
+    boolean cheatEnabled = false;
+    Steering steering = Steering.NORMALIZE;
+    Profiler profiler; // optional per-phase timing
+    boolean spawnThrottled = false; // from GameInput.throttleSpawns, see SpawnScheduler
+    int explosionParticles = EXPLOSION_PARTICLES; // from GameInput.explosionParticles
+
+    // Enemy counts at or above this move on the fork-join pool. Matches never
+    // get this far any more: spawns are capped per tick and by the live cap
+    // (MAX_LIVE_ENEMIES), and BatchRunner turns the path off. Only
+    // ParallelUpdateBenchmark, which fills its worlds directly, still runs it.
+    int parallelThreshold = 2048;
+    private ParallelEnemyUpdater parallelUpdater;
+
+    // Previous tick player position for interpolated rendering
+    int prevPlayerX, prevPlayerY;
+
+    // Collision broadphase, cells sized so a bullet touches at most four cells
+    final SpatialGrid enemyGrid = new SpatialGrid(Math.max(ENEMY_SIZE, BULLET_SIZE) * 2);
+    private int bossGridId = -1;
+
+    public GameWorld() {
+        this(System.nanoTime());
+    }
+
+    public GameWorld(long seed) {
+        this(seed, new GameConfig());
+    }
+
+    public GameWorld(long seed, GameConfig config) {
+        this.random = new GameRandom(seed);
+        this.config = config;
+        playerMaxHealth = playerHealth = config.playerMaxHealth;
+        bossHealth = config.bossHealth;
+        player = new Rectangle(INITIAL_WIDTH / 2 - PLAYER_SIZE / 2,
+                               INITIAL_HEIGHT / 2 - PLAYER_SIZE / 2,
+                               PLAYER_SIZE, PLAYER_SIZE);
+    }
+
+    public void start() {
+        reset();
+        running = true;
+    }
+
+    // Starts a match whose outcome depends only on the seed and the inputs
+    public void start(long seed) {
+        random.setSeed(seed);
+        start();
+    }
+
+    // Simulated time since the match started
+    public long elapsedMillis() {
+        return tickCount * TICK_MILLIS;
+    }
+
+    public void reset() {
+        running = false;
+        gameOver = false;
+        playerWins = false;
+        for (int i = 0; i < bullets.size(); i++) bulletPool.release(bullets.get(i));
+        bullets.clear();
+        enemies.clear();
+        particles.clear();
+        boss = null;
+        spawner.reset();
+        nextEntityId = 0;
+        spawnThrottled = false;
+        explosionParticles = EXPLOSION_PARTICLES;
+        enemiesKilled = 0;
+        score = 0;
+        tickCount = 0;
+        shootClock = 0;
+        playerHealth = playerMaxHealth;
+        bossHealth = config.bossHealth;
+        screenWidth = INITIAL_WIDTH;
+        screenHeight = INITIAL_HEIGHT;
+        player.setLocation(screenWidth / 2 - PLAYER_SIZE / 2, screenHeight / 2 - PLAYER_SIZE / 2);
+        prevPlayerX = player.x;
+        prevPlayerY = player.y;
+        for (int i = 0; i < guests.size(); i++) placeGuest(guests.get(i));
+    }
+    
+    public Guest addGuest() {
+        Guest guest = new Guest();
+        placeGuest(guest);
+        guests.add(guest);
+        return guest;
+    }
+    
+    public void removeGuest(Guest guest) {
+        guests.remove(guest);
+    }
+    
+    private void placeGuest(Guest guest) {
+        guest.setLocation(player.x, player.y);
+        guest.prevX = guest.x;
+        guest.prevY = guest.y;
+        guest.health = config.playerMaxHealth;
+        guest.shootClock = 0;
+        guest.input.clear();
+    }
+
+    // Turns a finished win into a plain game over, used when the win screen expires
+    public void dismissWin() {
+        playerWins = false;
+        running = false;
+        gameOver = true;
+    }
+
+    public void enableCheat() {
+        cheatEnabled = true;
+        playerMaxHealth = CHEAT_MAX_HEALTH;
+        playerHealth = playerMaxHealth;
+        autoShootDelay = CHEAT_SHOOT_DELAY;
+    }
+
+    public void step(GameInput input) {
+        if (!running) return;
+        tickCount++;
+        if (input.cheat) enableCheat();
+        spawnThrottled = input.throttleSpawns;
+        explosionParticles = input.explosionParticles;
+
+        long tickStart = profiler != null ? Profiler.now() : 0;
+        long t = tickStart;
+        updatePlayerPosition(input);
+        for (int i = 0; i < guests.size(); i++) {
+            Guest guest = guests.get(i);
+            guest.prevX = guest.x;
+            guest.prevY = guest.y;
+            if (guest.alive()) move(guest, guest.input);
+        }
+        t = lap(Profiler.Phase.PLAYER, t);
+        updateBullets();
+        t = lap(Profiler.Phase.BULLETS, t);
+        spawnEnemies();
+        t = lap(Profiler.Phase.SPAWN, t);
+        updateEnemies();
+        t = lap(Profiler.Phase.ENEMIES, t);
+        updateBoss();
+        t = lap(Profiler.Phase.BOSS, t);
+        updateParticles();
+        lap(Profiler.Phase.PARTICLES, t);
+        if (running) {
+            updateShooting(input);
+            updateGuestShooting();
+        }
+        checkWinCondition();
+        lap(Profiler.Phase.TICK, tickStart);
+    }
+
+    private long lap(Profiler.Phase phase, long start) {
+        return profiler != null ? profiler.lap(phase, start) : 0;
+    }
+
+    private void shoot(Rectangle shooter, GameInput input) {
+        int playerCenterX = shooter.x + PLAYER_SIZE / 2;
+        int playerCenterY = shooter.y + PLAYER_SIZE / 2;
+        double angle = StrictMath.atan2(input.aimY - playerCenterY, input.aimX - playerCenterX);
+        Bullet bullet = bulletPool.acquire().reset(playerCenterX - BULLET_SIZE/2, playerCenterY - BULLET_SIZE/2, angle, config.bulletSpeed);
+        bullet.id = nextEntityId++;
+        bullets.add(bullet);
+    }
+
+    // Fires on simulation time so the rate doesn't depend on timer jitter
+    void updateShooting(GameInput input) {
+        shootClock += TICK_MILLIS;
+        while (shootClock >= autoShootDelay) {
+            shoot(player, input);
+            shootClock -= autoShootDelay;
+        }
+    }
+    
+    private void updateGuestShooting() {
+        for (int i = 0; i < guests.size(); i++) {
+            Guest guest = guests.get(i);
+            if (!guest.alive()) continue;
+            guest.shootClock += TICK_MILLIS;
+            while (guest.shootClock >= autoShootDelay) {
+                shoot(guest, guest.input);
+                guest.shootClock -= autoShootDelay;
+            }
+        }
+    }
+
+    void updatePlayerPosition(GameInput input) {
+        prevPlayerX = player.x;
+        prevPlayerY = player.y;
+        move(player, input);
+    }
+    
+    private void move(Rectangle body, GameInput input) {
+        if (input.up) body.y = Math.max(0, body.y - PLAYER_SPEED);
+        if (input.down) body.y = Math.min(screenHeight - PLAYER_SIZE, body.y + PLAYER_SPEED);
+        if (input.left) body.x = Math.max(0, body.x - PLAYER_SPEED);
+        if (input.right) body.x = Math.min(screenWidth - PLAYER_SIZE, body.x + PLAYER_SPEED);
+    }
+
+    void updateBullets() {
+        buildEnemyGrid();
+        int bulletsRemoved = 0;
+        int enemiesRemoved = 0;
+
+        for (int i = bullets.size() - 1; i >= 0; i--) {
+            Bullet bullet = bullets.get(i);
+            bullet.update();
+
+            int hitIndex = firstBulletHit(bullet);
+            if (hitIndex >= 0 && hitIndex != bossGridId) {
+                enemiesKilled++;
+                score += 10;
+
+                // Create explosion particles
+                createExplosion(enemies.x[hitIndex] + ENEMY_SIZE/2, enemies.y[hitIndex] + ENEMY_SIZE/2, ENEMY_RGB);
+
+                // Increase screen size
+                increaseScreenSize();
+
+                // Dead entries are compacted after the loop so indices and grid ids stay valid
+                removeBullet(i);
+                enemies.remove(hitIndex);
+                bulletsRemoved++;
+                enemiesRemoved++;
+                continue;
+            }
+
+            if (hitIndex == bossGridId) {
+                removeBullet(i);
+                bulletsRemoved++;
+                bossHealth--;
+                score += 5;
+
+                if (bossHealth <= 0) {
+                    // Boss defeated
+                    createExplosion(boss.x + BOSS_SIZE/2, boss.y + BOSS_SIZE/2, BOSS_RGB);
+                    boss = null;
+                    playerWins = true;
+                    endGame();
+                }
+                continue;
+            }
+
+            // Bullets leaving the screen are dropped after they had their chance to hit
+            if (bullet.isOutOfBounds(screenWidth, screenHeight)) {
+                removeBullet(i);
+                bulletsRemoved++;
+            }
+        }
+
+        if (bulletsRemoved > 0) compact(bullets);
+        if (enemiesRemoved > 0) enemies.compact();
+    }
+
+    // What the bullet's last step ran into first: an enemy index, bossGridId
+    // or -1. Swept tests cover the whole step so fast bullets can't tunnel;
+    // among enemies hit at the same moment the highest index wins, and
+    // enemies win ties with the boss. The step is walked in BULLET_SIZE
+    // chunks so grid queries stay small, stopping once a chunk holds a hit
+    // (anything hit earlier overlaps an earlier chunk, so it was seen).
+    int firstBulletHit(Bullet bullet) {
+        int dx = bullet.x - bullet.prevX, dy = bullet.y - bullet.prevY;
+        int chunks = Math.max(1, (Math.max(Math.abs(dx), Math.abs(dy)) + BULLET_SIZE - 1) / BULLET_SIZE);
+        int hitIndex = -1;
+        float hitTime = Bullet.MISS, bossTime = Bullet.MISS;
+        for (int c = 0; c < chunks; c++) {
+            int x0 = bullet.prevX + dx * c / chunks, x1 = bullet.prevX + dx * (c + 1) / chunks;
+            int y0 = bullet.prevY + dy * c / chunks, y1 = bullet.prevY + dy * (c + 1) / chunks;
+            // One pixel of margin covers the rounding of the chunk ends
+            int left = Math.min(x0, x1) - 1, top = Math.min(y0, y1) - 1;
+            int right = Math.max(x0, x1) + BULLET_SIZE + 1, bottom = Math.max(y0, y1) + BULLET_SIZE + 1;
+            int candidates = enemyGrid.query(left, top, right - left, bottom - top);
+            for (int k = 0; k < candidates; k++) {
+                int id = enemyGrid.result(k);
+                if (id == bossGridId) {
+                    if (boss != null) bossTime = bullet.sweep(boss);
+                    continue;
+                }
+                int ex = enemies.x[id], ey = enemies.y[id];
+                // Grid cells are coarser than a chunk, skip what is clearly out of reach
+                if (enemies.removed(id) || ex >= right || ex + enemies.width <= left
+                    || ey >= bottom || ey + enemies.height <= top) continue;
+                float t = bullet.sweep(ex, ey, enemies.width, enemies.height);
+                if (t < hitTime || (t == hitTime && t != Bullet.MISS && id > hitIndex)) {
+                    hitTime = t;
+                    hitIndex = id;
+                }
+            }
+            if (Math.min(hitTime, bossTime) <= (c + 1) / (float) chunks) break;
+        }
+        if (bossTime < hitTime) return bossGridId;
+        return hitIndex;
+    }
+
+    private void removeBullet(int i) {
+        bulletPool.release(bullets.get(i));
+        bullets.set(i, null);
+    }
+
+    // Drops the null slots left by removals in one pass, keeping order
+    private static <T> void compact(ArrayList<T> list) {
+        int live = 0;
+        for (int i = 0; i < list.size(); i++) {
+            T item = list.get(i);
+            if (item != null) {
+                list.set(live++, item);
+            }
+        }
+        for (int i = list.size() - 1; i >= live; i--) {
+            list.remove(i);
+        }
+    }
+
+    void buildEnemyGrid() {
+        enemyGrid.clear(screenWidth, screenHeight);
+        for (int i = 0; i < enemies.size(); i++) {
+            enemyGrid.insert(i, enemies.x[i], enemies.y[i], enemies.width, enemies.height);
+        }
+        bossGridId = enemies.size();
+        if (boss != null) {
+            enemyGrid.insert(bossGridId, boss.x, boss.y, boss.width, boss.height);
+        }
+    }
+
+    void spawnEnemies() {
+        spawner.update(this, spawnThrottled);
+    }
+
+    // Places a scheduled enemy just outside the given side of the screen,
+    // offset is its position along that side in SpawnScheduler.OFFSET_RANGE units
+    void spawnEnemy(int side, int offset) {
+        int alongX = (int) ((long) offset * (screenWidth - ENEMY_SIZE) / SpawnScheduler.OFFSET_RANGE);
+        int alongY = (int) ((long) offset * (screenHeight - ENEMY_SIZE) / SpawnScheduler.OFFSET_RANGE);
+        int x = 0, y = 0;
+
+        switch (side) {
+            case 0: // Top
+                x = alongX;
+                y = -ENEMY_SIZE;
+                break;
+            case 1: // Right
+                x = screenWidth;
+                y = alongY;
+                break;
+            case 2: // Bottom
+                x = alongX;
+                y = screenHeight;
+                break;
+            case 3: // Left
+                x = -ENEMY_SIZE;
+                y = alongY;
+                break;
+        }
+
+        int i = enemies.add(x, y);
+        enemies.id[i] = nextEntityId++;
+    }
+
+    void spawnBoss() {
+        boss = new Boss(screenWidth / 2 - BOSS_SIZE / 2,
+                      screenHeight / 2 - BOSS_SIZE / 2,
+                      BOSS_SIZE, BOSS_SIZE);
+    }
+
+    void updateEnemies() {
+        if (!guests.isEmpty()) {
+            updateEnemiesShared();
+            return;
+        }
+        // Movement only depends on the player, so move everything first and
+        // then resolve hits in descending index order like a reverse scan would
+        int targetX = player.x + PLAYER_SIZE/2, targetY = player.y + PLAYER_SIZE/2;
+        int enemiesRemoved = 0;
+
+        if (enemies.size() >= parallelThreshold) {
+            if (parallelUpdater == null) parallelUpdater = new ParallelEnemyUpdater(ForkJoinPool.commonPool());
+            int hits = parallelUpdater.moveAndCollect(enemies, targetX, targetY, ENEMY_SPEED, steering, player);
+            for (int k = hits - 1; k >= 0; k--) {
+                enemyHitPlayer(parallelUpdater.hit(k));
+                enemiesRemoved++;
+            }
+        } else {
+            enemies.move(0, enemies.size(), targetX, targetY, ENEMY_SPEED, steering);
+
+            buildEnemyGrid();
+            int candidates = enemyGrid.query(player.x, player.y, player.width, player.height);
+            enemyGrid.sortResults();
+            for (int k = candidates - 1; k >= 0; k--) {
+                int i = enemyGrid.result(k);
+                if (i != bossGridId && enemies.intersects(i, player)) {
+                    enemyHitPlayer(i);
+                    enemiesRemoved++;
+                }
+            }
+        }
+
+        if (enemiesRemoved > 0) enemies.compact();
+    }
+
+    // Arena version of updateEnemies: each enemy heads for the nearest living
+    // player, then every player takes the enemies touching it, host first
+    private void updateEnemiesShared() {
+        for (int i = 0; i < enemies.size(); i++) {
+            Rectangle target = nearestPlayer(enemies.x[i], enemies.y[i]);
+            enemies.move(i, i + 1, target.x + PLAYER_SIZE/2, target.y + PLAYER_SIZE/2, ENEMY_SPEED, steering);
+        }
+
+        buildEnemyGrid();
+        int enemiesRemoved = collideEnemies(player, null);
+        for (int g = 0; g < guests.size() && running; g++) {
+            if (guests.get(g).alive()) enemiesRemoved += collideEnemies(guests.get(g), guests.get(g));
+        }
+        if (enemiesRemoved > 0) enemies.compact();
+    }
+
+    // Removes the enemies touching body and charges the hits to guest, or
+    // to the host when guest is null. Returns how many were removed.
+    private int collideEnemies(Rectangle body, Guest guest) {
+        int removed = 0;
+        int candidates = enemyGrid.query(body.x, body.y, body.width, body.height);
+        enemyGrid.sortResults();
+        for (int k = candidates - 1; k >= 0; k--) {
+            int i = enemyGrid.result(k);
+            if (i == bossGridId || enemies.removed(i) || !enemies.intersects(i, body)) continue;
+            if (guest == null) {
+                enemyHitPlayer(i);
+            } else {
+                guest.health -= 10;
+                createExplosion(enemies.x[i] + ENEMY_SIZE/2, enemies.y[i] + ENEMY_SIZE/2, ENEMY_RGB);
+                enemies.remove(i);
+            }
+            removed++;
+            if (!running || (guest != null && !guest.alive())) break;
+        }
+        return removed;
+    }
+
+    // Host or living guest whose top-left corner is closest to (x, y), ties go to the host
+    private Rectangle nearestPlayer(int x, int y) {
+        Rectangle nearest = player;
+        long best = distanceSquared(player, x, y);
+        for (int i = 0; i < guests.size(); i++) {
+            Guest guest = guests.get(i);
+            if (!guest.alive()) continue;
+            long d = distanceSquared(guest, x, y);
+            if (d < best) {
+                best = d;
+                nearest = guest;
+            }
+        }
+        return nearest;
+    }
+
+    private static long distanceSquared(Rectangle body, int x, int y) {
+        long dx = body.x - x, dy = body.y - y;
+        return dx * dx + dy * dy;
+    }
+
+    private void enemyHitPlayer(int i) {
+        playerHealth -= 10;
+        createExplosion(enemies.x[i] + ENEMY_SIZE/2, enemies.y[i] + ENEMY_SIZE/2, ENEMY_RGB);
+        enemies.remove(i);
+
+        if (playerHealth <= 0) {
+            gameOver = true;
+            endGame();
+        }
+    }
+
+    void updateBoss() {
+        if (boss != null) {
+            Rectangle target = guests.isEmpty() ? player : nearestPlayer(boss.x, boss.y);
+            boss.moveTowards(target.x + PLAYER_SIZE/2, target.y + PLAYER_SIZE/2, BOSS_SPEED, steering);
+            for (int i = 0; i < guests.size(); i++) {
+                Guest guest = guests.get(i);
+                if (guest.alive() && boss.intersects(guest)) guest.health -= 20;
+            }
+
+            if (boss.intersects(player)) {
+                playerHealth -= 20;
+
+                if (playerHealth <= 0) {
+                    gameOver = true;
+                    endGame();
+                }
+            }
+        }
+    }
+
+    void updateParticles() {
+        particles.update();
+    }
+
+    private void createExplosion(int x, int y, int rgb) {
+        // Past the view's cap the random draws still happen, so a reduced
+        // explosion only changes the particles, not enemies or the boss
+        for (int i = 0; i < EXPLOSION_PARTICLES; i++) {
+            if (i < explosionParticles) particles.spawn(x, y, rgb, random);
+            else particles.skipSpawn(random);
+        }
+    }
+
+    private void increaseScreenSize() {
+        screenWidth += config.growthWidth;
+        screenHeight += config.growthHeight;
+        screenWidth = Math.min(screenWidth, MAX_WIDTH);
+        screenHeight = Math.min(screenHeight, MAX_HEIGHT);
+    }
+
+    private void checkWinCondition() {
+        if (screenWidth >= MAX_WIDTH && screenHeight >= MAX_HEIGHT) {
+            playerWins = true;
+            endGame();
+        }
+    }
+
+    private void endGame() {
+        running = false;
+    }
+
+    // 64-bit digest of the complete simulation state, used to verify replays
+    public long stateHash() {
+        long h = 0;
+        h = mix(h, tickCount);
+        h = mix(h, random.state());
+        h = mix(h, (running ? 1 : 0) | (gameOver ? 2 : 0) | (playerWins ? 4 : 0) | (cheatEnabled ? 8 : 0));
+        h = mix(h, ((long) screenWidth << 32) | screenHeight);
+        h = mix(h, ((long) player.x << 32) | (player.y & 0xFFFFFFFFL));
+        h = mix(h, ((long) playerHealth << 32) | playerMaxHealth);
+        h = mix(h, ((long) bossHealth << 32) | enemiesKilled);
+        h = mix(h, ((long) score << 32) | shootClock);
+        h = mix(h, autoShootDelay);
+        h = mix(h, spawner.hash(spawner.wave));
+        for (int i = 0; i < guests.size(); i++) {
+            Guest g = guests.get(i);
+            h = mix(h, ((long) g.x << 32) | (g.y & 0xFFFFFFFFL));
+            h = mix(h, ((long) g.health << 32) | g.shootClock);
+        }
+
+        h = mix(h, bullets.size());
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet b = bullets.get(i);
+            h = mix(h, ((long) b.x << 32) | (b.y & 0xFFFFFFFFL));
+            h = mix(h, Double.doubleToLongBits(b.dx));
+            h = mix(h, Double.doubleToLongBits(b.dy));
+        }
+        h = mix(h, enemies.size());
+        for (int i = 0; i < enemies.size(); i++) {
+            h = mix(h, ((long) Float.floatToIntBits(enemies.posX[i]) << 32) | (Float.floatToIntBits(enemies.posY[i]) & 0xFFFFFFFFL));
+            h = mix(h, ((long) enemies.x[i] << 32) | (enemies.y[i] & 0xFFFFFFFFL));
+        }
+        if (boss != null) {
+            h = mix(h, ((long) Float.floatToIntBits(boss.posX) << 32) | (Float.floatToIntBits(boss.posY) & 0xFFFFFFFFL));
+        }
+        h = mix(h, particles.size());
+        for (int i = 0; i < particles.size(); i++) {
+            h = mix(h, ((long) Float.floatToIntBits(particles.x[i]) << 32) | (Float.floatToIntBits(particles.y[i]) & 0xFFFFFFFFL));
+            h = mix(h, ((long) particles.alpha[i] << 32) | particles.lifetime[i]);
+        }
+        return h;
+    }
+
+    private static long mix(long h, long value) {
+        h = (h ^ value) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,105 @@
+package fillthescreen;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Records the per-tick input of one match so Replay can reproduce it exactly.
+// Format (big-endian):
+//   header  "FTSR" magic, version byte, seed long, flags byte, steering byte
+//   ticks   mask byte followed by the fields it flags:
+//             KEYS  -> key bits byte (up, down, left, right, spawn throttle)
+//             AIM   -> zig-zag varint deltas of aimX and aimY
+//             CHEAT -> no payload
+//             PARTICLES -> particles per explosion byte
+//           a zero mask is followed by a varint count of ticks that repeat
+//           the previous input unchanged
+//   end     END mask, varint tick count, GameWorld.stateHash() long
+class InputRecorder implements Closeable {
+    static final int MAGIC = 0x46545352; // "FTSR"
+    static final int VERSION = 4;
+
+    // Tick mask bits
+    static final int KEYS = 1, AIM = 2, CHEAT = 4, PARTICLES = 8, END = 0x80;
+
+    // Header flag bits
+    static final int HEADER_CHEAT = 1;
+
+    // Key bits
+    static final int KEY_UP = 1, KEY_DOWN = 2, KEY_LEFT = 4, KEY_RIGHT = 8, KEY_THROTTLE = 16;
+
+    private final DataOutputStream out;
+    private int keyBits = 0;
+    private int aimX = 0, aimY = 0;
+    private int explosionParticles = GameWorld.EXPLOSION_PARTICLES;
+    private long repeatedTicks = 0;
+
+    public InputRecorder(OutputStream stream, long seed, GameWorld world) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeByte(world.cheatEnabled ? HEADER_CHEAT : 0);
+        out.writeByte(world.steering.ordinal());
+    }
+
+    public void record(GameInput input) throws IOException {
+        int bits = keyBits(input);
+        int mask = 0;
+        if (bits != keyBits) mask |= KEYS;
+        if (input.aimX != aimX || input.aimY != aimY) mask |= AIM;
+        if (input.cheat) mask |= CHEAT;
+        if (input.explosionParticles != explosionParticles) mask |= PARTICLES;
+
+        if (mask == 0) {
+            repeatedTicks++;
+            return;
+        }
+        flushRepeats();
+        out.writeByte(mask);
+        if ((mask & KEYS) != 0) {
+            out.writeByte(bits);
+            keyBits = bits;
+        }
+        if ((mask & AIM) != 0) {
+            VarInt.writeSigned(out, input.aimX - aimX);
+            VarInt.writeSigned(out, input.aimY - aimY);
+            aimX = input.aimX;
+            aimY = input.aimY;
+        }
+        if ((mask & PARTICLES) != 0) {
+            out.writeByte(input.explosionParticles);
+            explosionParticles = input.explosionParticles;
+        }
+    }
+
+    // Writes the end marker with the final state so replays can be verified
+    public void finish(GameWorld world) throws IOException {
+        flushRepeats();
+        out.writeByte(END);
+        VarInt.write(out, world.tickCount);
+        out.writeLong(world.stateHash());
+        close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void flushRepeats() throws IOException {
+        if (repeatedTicks > 0) {
+            out.writeByte(0);
+            VarInt.write(out, repeatedTicks);
+            repeatedTicks = 0;
+        }
+    }
+
+    static int keyBits(GameInput input) {
+        return (input.up ? KEY_UP : 0) | (input.down ? KEY_DOWN : 0)
+             | (input.left ? KEY_LEFT : 0) | (input.right ? KEY_RIGHT : 0)
+             | (input.throttleSpawns ? KEY_THROTTLE : 0);
+    }
+}
@@ -0,0 +1,73 @@
+package fillthescreen;
+
+import java.util.Arrays;
+
+// Log-linear histogram of nanosecond durations in the spirit of HdrHistogram:
+// exact below 32 ns, then 16 sub-buckets per power of two (about 6% error).
+// Recording is a couple of shifts and an array increment.
+class LatencyHistogram {
+    private static final int SUB_BUCKETS = 16;
+    private static final int LINEAR = SUB_BUCKETS * 2;
+
+    private final long[] counts = new long[LINEAR + 60 * SUB_BUCKETS];
+    private long count = 0;
+    private long total = 0;
+    private long max = 0;
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[index(nanos)]++;
+        count++;
+        total += nanos;
+        if (nanos > max) max = nanos;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public long mean() {
+        return count == 0 ? 0 : total / count;
+    }
+
+    // Upper bound of the bucket holding the given quantile, p in [0, 1]
+    public long percentile(double p) {
+        if (count == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(p * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) return Math.min(max, upperBound(i));
+        }
+        return max;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = total = max = 0;
+    }
+
+    public void copyFrom(LatencyHistogram other) {
+        System.arraycopy(other.counts, 0, counts, 0, counts.length);
+        count = other.count;
+        total = other.total;
+        max = other.max;
+    }
+
+    private static int index(long value) {
+        if (value < LINEAR) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 4;
+        return LINEAR + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long upperBound(int index) {
+        if (index < LINEAR) return index;
+        int shift = (index - LINEAR) / SUB_BUCKETS + 1;
+        long top = (index - LINEAR) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+}
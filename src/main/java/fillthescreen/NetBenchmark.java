@@ -0,0 +1,119 @@
+package fillthescreen;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Random;
+
+// Loopback harness for ArenaServer: starts a server in-process, connects N
+// scripted clients on one selector thread and reports server tick time and
+// snapshot bytes per tick once the arena has warmed up. Every client answers
+// each snapshot with an input that acknowledges it, like a real client would.
+// For comparison the first client also re-encodes what it received without a
+// baseline, giving the size a full snapshot would have had.
+//
+//   java -cp target/classes fillthescreen.NetBenchmark [--clients 2,8,32] [--ticks 600] [--seed 1]
+class NetBenchmark {
+    static final int WARMUP_TICKS = 120;
+    static final int INPUT_HOLD_TICKS = 30; // scripted clients change direction this often
+
+    // Wanders in a random direction and aims at a random point, both
+    // re-rolled every INPUT_HOLD_TICKS snapshots
+    static class ScriptedClient {
+        final ArenaClient client;
+        final GameInput input = new GameInput();
+        final Random random;
+        int held = 0;
+
+        ScriptedClient(ArenaClient client, long seed) {
+            this.client = client;
+            this.random = new Random(seed);
+        }
+
+        void respond() throws IOException {
+            if (held-- <= 0) {
+                held = INPUT_HOLD_TICKS;
+                input.up = random.nextBoolean();
+                input.down = !input.up && random.nextBoolean();
+                input.left = random.nextBoolean();
+                input.right = !input.left && random.nextBoolean();
+                ArenaSnapshot s = client.latest();
+                input.aimX = random.nextInt(Math.max(1, s.screenWidth));
+                input.aimY = random.nextInt(Math.max(1, s.screenHeight));
+            }
+            client.sendInput(input);
+        }
+    }
+
+    static String run(int clients, int ticks, long seed) throws IOException, InterruptedException {
+        ArenaServer server = new ArenaServer(0, seed);
+        Thread serverThread = new Thread(server, "arena-server");
+        serverThread.start();
+
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", server.port());
+        Selector selector = Selector.open();
+        ArrayList<ScriptedClient> scripted = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            ScriptedClient c = new ScriptedClient(new ArenaClient(address), seed * 31 + i);
+            c.client.channel.register(selector, SelectionKey.OP_READ, c);
+            scripted.add(c);
+        }
+
+        long received = 0, fullBytes = 0, fullCount = 0;
+        ByteBuffer scratch = ByteBuffer.allocate(64 * 1024);
+        boolean measuring = false;
+        try {
+            while (server.measuredTicks() < (measuring ? ticks : WARMUP_TICKS)) {
+                selector.select(100);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    ScriptedClient c = (ScriptedClient) keys.next().attachment();
+                    keys.remove();
+                    if (!c.client.read()) continue;
+                    c.respond();
+                    if (measuring && c == scripted.get(0)) {
+                        ArenaSnapshot s = c.client.latest();
+                        if (scratch.capacity() < s.maxEncodedBytes(null)) scratch = ByteBuffer.allocate(s.maxEncodedBytes(null));
+                        scratch.clear();
+                        s.encode(null, scratch);
+                        fullBytes += scratch.position();
+                        fullCount++;
+                    }
+                }
+                if (!measuring && server.measuredTicks() >= WARMUP_TICKS) {
+                    server.resetStats();
+                    for (ScriptedClient c : scripted) received -= c.client.snapshots;
+                    measuring = true;
+                }
+            }
+            for (ScriptedClient c : scripted) received += c.client.snapshots;
+            return server.stats(clients) + String.format(" %10d %12.0f", received, (double) fullBytes / Math.max(1, fullCount));
+        } finally {
+            server.stop();
+            serverThread.join();
+            for (ScriptedClient c : scripted) c.client.close();
+            selector.close();
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String clientCounts = "2,8,32";
+        int ticks = 600;
+        long seed = 1;
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--clients")) clientCounts = args[++i];
+            else if (args[i].equals("--ticks")) ticks = Integer.parseInt(args[++i]);
+            else if (args[i].equals("--seed")) seed = Long.parseLong(args[++i]);
+        }
+
+        System.out.printf("%7s %8s %10s %10s %10s %12s %12s %8s %8s %10s %12s%n", "clients", "ticks", "mean us", "p50 us",
+                          "p99 us", "bytes/tick", "B/tick/cli", "full", "skipped", "decoded", "full B/cli");
+        for (String count : clientCounts.split(",")) {
+            System.out.println(run(Integer.parseInt(count.trim()), ticks, seed));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package fillthescreen;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Moves enemies across cores. The store is cut into contiguous partitions;
+// each worker moves its slice and records which of its enemies touch the
+// player in its own buffer. Buffers are concatenated in partition order, so
+// the merged hits come out in ascending index order on every run.
+class ParallelEnemyUpdater {
+    private final ForkJoinPool pool;
+    private final int partitions;
+    private final int[][] hitBuffers;
+    private final int[] hitCounts;
+    private int[] merged = new int[64];
+
+    // Per-call arguments, written before the fork and read by the workers
+    private EnemyStore enemies;
+    private int targetX, targetY;
+    private float speed;
+    private Steering steering;
+    private Rectangle player;
+
+    public ParallelEnemyUpdater(ForkJoinPool pool) {
+        this.pool = pool;
+        this.partitions = Math.max(1, pool.getParallelism() * 4);
+        this.hitBuffers = new int[partitions][16];
+        this.hitCounts = new int[partitions];
+    }
+
+    // Moves every enemy and returns how many touch the player, read them with hit(i)
+    public int moveAndCollect(EnemyStore enemies, int targetX, int targetY, float speed,
+                              Steering steering, Rectangle player) {
+        this.enemies = enemies;
+        this.targetX = targetX;
+        this.targetY = targetY;
+        this.speed = speed;
+        this.steering = steering;
+        this.player = player;
+        pool.invoke(new PartitionTask(0, partitions));
+        this.enemies = null;
+
+        int total = 0;
+        for (int p = 0; p < partitions; p++) total += hitCounts[p];
+        if (merged.length < total) merged = new int[Math.max(total, merged.length * 2)];
+        int n = 0;
+        for (int p = 0; p < partitions; p++) {
+            System.arraycopy(hitBuffers[p], 0, merged, n, hitCounts[p]);
+            n += hitCounts[p];
+        }
+        return n;
+    }
+
+    public int hit(int i) {
+        return merged[i];
+    }
+
+    private void runPartition(int p) {
+        int size = enemies.size();
+        int from = (int) ((long) size * p / partitions);
+        int to = (int) ((long) size * (p + 1) / partitions);
+        int[] buffer = hitBuffers[p];
+        int count = 0;
+        enemies.move(from, to, targetX, targetY, speed, steering);
+        for (int i = from; i < to; i++) {
+            if (enemies.intersects(i, player)) {
+                if (count == buffer.length) buffer = hitBuffers[p] = Arrays.copyOf(buffer, count * 2);
+                buffer[count++] = i;
+            }
+        }
+        hitCounts[p] = count;
+    }
+
+    private class PartitionTask extends RecursiveAction {
+        private final int from, to;
+
+        PartitionTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                runPartition(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PartitionTask(from, mid), new PartitionTask(mid, to));
+        }
+    }
+}
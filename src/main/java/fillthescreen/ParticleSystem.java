@@ -0,0 +1,134 @@
+package fillthescreen;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+// Fixed capacity particle pool stored as parallel primitive arrays. Dead
+// particles are swap-removed with the last live one, so updates never
+// allocate or shift elements.
+class ParticleSystem {
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    final float[] x, y, dx, dy;
+    final int[] alpha, lifetime, size, rgb;
+    private final int capacity;
+    private int count = 0;
+
+    public ParticleSystem() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        dx = new float[capacity];
+        dy = new float[capacity];
+        alpha = new int[capacity];
+        lifetime = new int[capacity];
+        size = new int[capacity];
+        rgb = new int[capacity];
+    }
+
+    // Spawns one particle, consuming random numbers in the same order as the
+    // old Particle constructor. Returns false when the pool is full.
+    public boolean spawn(int startX, int startY, int color, Random random) {
+        int particleSize = random.nextInt(5) + 2;
+        double angle = random.nextDouble() * Math.PI * 2;
+        double speed = random.nextDouble() * 3 + 1;
+        int particleLifetime = random.nextInt(30) + 20;
+        if (count == capacity) return false;
+
+        int i = count++;
+        x[i] = startX;
+        y[i] = startY;
+        dx[i] = (float) (StrictMath.cos(angle) * speed);
+        dy[i] = (float) (StrictMath.sin(angle) * speed);
+        size[i] = particleSize;
+        rgb[i] = color & 0xFFFFFF;
+        alpha[i] = 255;
+        lifetime[i] = particleLifetime;
+        return true;
+    }
+
+    // Draws the random numbers of one spawn without adding a particle, so a
+    // reduced explosion leaves the gameplay random sequence untouched
+    public void skipSpawn(Random random) {
+        random.nextInt(5);
+        random.nextDouble();
+        random.nextDouble();
+        random.nextInt(30);
+    }
+
+    public void update() {
+        int i = 0;
+        while (i < count) {
+            x[i] += dx[i];
+            y[i] += dy[i];
+            alpha[i] = Math.max(0, alpha[i] - 5);
+            lifetime[i]--;
+            if (lifetime[i] <= 0 || alpha[i] <= 0) {
+                removeAt(i); // the swapped-in particle is processed next
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private void removeAt(int i) {
+        int last = --count;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            dx[i] = dx[last];
+            dy[i] = dy[last];
+            alpha[i] = alpha[last];
+            lifetime[i] = lifetime[last];
+            size[i] = size[last];
+            rgb[i] = rgb[last];
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    // Live particles for SaveState, one bulk copy per array
+    public void write(ByteBuffer out) {
+        out.putInt(count);
+        for (float[] values : new float[][] {x, y, dx, dy}) {
+            out.asFloatBuffer().put(values, 0, count);
+            out.position(out.position() + count * 4);
+        }
+        for (int[] values : new int[][] {alpha, lifetime, size, rgb}) {
+            out.asIntBuffer().put(values, 0, count);
+            out.position(out.position() + count * 4);
+        }
+    }
+
+    // Particles past the capacity are dropped
+    public void read(ByteBuffer in) {
+        int saved = in.getInt();
+        count = Math.min(saved, capacity);
+        for (float[] values : new float[][] {x, y, dx, dy}) {
+            in.asFloatBuffer().get(values, 0, count);
+            in.position(in.position() + saved * 4);
+        }
+        for (int[] values : new int[][] {alpha, lifetime, size, rgb}) {
+            in.asIntBuffer().get(values, 0, count);
+            in.position(in.position() + saved * 4);
+        }
+    }
+
+    public int maxBytes() {
+        return 4 + capacity * 32;
+    }
+}
@@ -0,0 +1,202 @@
+package fillthescreen;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+// Per-phase timing for simulation ticks and paint calls. Durations go into
+// one LatencyHistogram per phase; once a second the window is published for
+// the overlay and optionally streamed as CSV or JSON lines.
+class Profiler {
+    enum Phase {
+        PLAYER, BULLETS, SPAWN, ENEMIES, BOSS, PARTICLES, TICK,
+        DRAW_BACKGROUND, DRAW_PARTICLES, DRAW_PLAYER, DRAW_BULLETS, DRAW_ENEMIES, DRAW_BOSS,
+        DRAW_HUD, DRAW_OVERLAYS, FRAME,
+        // Time between the starts of consecutive frames, i.e. frame pacing
+        FRAME_INTERVAL
+    }
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LatencyHistogram[] current = new LatencyHistogram[PHASES.length];
+    private final LatencyHistogram[] published = new LatencyHistogram[PHASES.length];
+    private long windowStart = System.nanoTime();
+    private final long createdAt = windowStart;
+    private int frames = 0;
+    private int fps = 0;
+    private int enemies, bullets, particles;
+    private int spawnQueue;
+    private int poolHighWater;
+    private long poolAllocated;
+    private double poolReuse;
+    private String presentation = "swing";
+    private long windowPixels = 0;
+    private long windows = 0;
+    private long repaintPixels = 0;
+
+    private PrintWriter out;
+    private boolean json;
+
+    public Profiler() {
+        for (int i = 0; i < PHASES.length; i++) {
+            current[i] = new LatencyHistogram();
+            published[i] = new LatencyHistogram();
+        }
+    }
+
+    // Streams one record per window to a file, JSON lines if it ends in .json, CSV otherwise
+    public void streamTo(String path) throws IOException {
+        out = new PrintWriter(new FileWriter(path));
+        json = path.endsWith(".json");
+        if (!json) out.println("time_ms,phase,count,mean_ns,p50_ns,p99_ns,max_ns,fps,repaint_px,enemies,bullets,particles,spawn_queue,pool_high,pool_allocated,pool_reuse,present");
+    }
+
+    public static long now() {
+        return System.nanoTime();
+    }
+
+    // Records the time since start under phase and returns the current time
+    public synchronized long lap(Phase phase, long start) {
+        long now = System.nanoTime();
+        current[phase.ordinal()].record(now - start);
+        return now;
+    }
+
+    public synchronized void setEntityCounts(int enemies, int bullets, int particles) {
+        this.enemies = enemies;
+        this.bullets = bullets;
+        this.particles = particles;
+    }
+
+    // Call once per painted frame with the number of pixels it rendered,
+    // rolls the window over when it is full
+    public synchronized void frameCompleted(long pixels) {
+        frames++;
+        windowPixels += pixels;
+        long now = System.nanoTime();
+        if (now - windowStart < WINDOW_NANOS) return;
+
+        fps = (int) Math.round(frames * 1e9 / (now - windowStart));
+        repaintPixels = windowPixels / frames;
+        windowPixels = 0;
+        for (int i = 0; i < PHASES.length; i++) {
+            published[i].copyFrom(current[i]);
+            current[i].reset();
+        }
+        frames = 0;
+        windowStart = now;
+        windows++;
+        if (out != null) write((now - createdAt) / 1_000_000L);
+    }
+
+    // Number of windows published so far, lets readers act once per window
+    public synchronized long windows() {
+        return windows;
+    }
+
+    public synchronized int fps() {
+        return fps;
+    }
+
+    // Average pixels rendered per frame over the last published window
+    public synchronized long repaintPixels() {
+        return repaintPixels;
+    }
+
+    public synchronized void setSpawnQueueDepth(int depth) {
+        spawnQueue = depth;
+    }
+
+    public synchronized int spawnQueue() {
+        return spawnQueue;
+    }
+
+    // How frames reach the screen: swing for repaint, flip or blit for the
+    // active renderer's buffer strategy
+    public synchronized void setPresentation(String presentation) {
+        this.presentation = presentation;
+    }
+
+    public synchronized String presentation() {
+        return presentation;
+    }
+
+    // Bullet pool figures: most bullets live at once, bullets ever created
+    // and the fraction of acquires the free list served
+    public synchronized void setBulletPool(int highWater, long allocated, double reuseRatio) {
+        poolHighWater = highWater;
+        poolAllocated = allocated;
+        poolReuse = reuseRatio;
+    }
+
+    public synchronized int poolHighWater() {
+        return poolHighWater;
+    }
+
+    public synchronized long poolAllocated() {
+        return poolAllocated;
+    }
+
+    public synchronized double poolReuse() {
+        return poolReuse;
+    }
+
+    public synchronized int enemies() {
+        return enemies;
+    }
+
+    public synchronized int bullets() {
+        return bullets;
+    }
+
+    public synchronized int particles() {
+        return particles;
+    }
+
+    // Percentile of the last published window
+    public synchronized long percentile(Phase phase, double p) {
+        return published[phase.ordinal()].percentile(p);
+    }
+
+    public synchronized long max(Phase phase) {
+        return published[phase.ordinal()].max();
+    }
+
+    public synchronized void close() {
+        if (out != null) out.close();
+        out = null;
+    }
+
+    private void write(long timeMillis) {
+        if (json) {
+            StringBuilder line = new StringBuilder();
+            line.append("{\"time_ms\":").append(timeMillis).append(",\"fps\":").append(fps)
+                .append(",\"repaint_px\":").append(repaintPixels)
+                .append(",\"enemies\":").append(enemies).append(",\"bullets\":").append(bullets)
+                .append(",\"particles\":").append(particles)
+                .append(",\"spawn_queue\":").append(spawnQueue)
+                .append(",\"bullet_pool\":{\"high\":").append(poolHighWater).append(",\"allocated\":").append(poolAllocated)
+                .append(",\"reuse\":").append(poolReuse).append("},\"present\":\"").append(presentation)
+                .append("\",\"phases\":{");
+            for (int i = 0; i < PHASES.length; i++) {
+                LatencyHistogram h = published[i];
+                if (i > 0) line.append(',');
+                line.append('"').append(PHASES[i].name().toLowerCase()).append("\":{\"count\":").append(h.count())
+                    .append(",\"mean_ns\":").append(h.mean()).append(",\"p50_ns\":").append(h.percentile(0.5))
+                    .append(",\"p99_ns\":").append(h.percentile(0.99)).append(",\"max_ns\":").append(h.max()).append('}');
+            }
+            out.println(line.append("}}"));
+        } else {
+            for (int i = 0; i < PHASES.length; i++) {
+                LatencyHistogram h = published[i];
+                if (h.count() == 0) continue;
+                out.println(timeMillis + "," + PHASES[i].name().toLowerCase() + "," + h.count() + "," + h.mean() + ","
+                            + h.percentile(0.5) + "," + h.percentile(0.99) + "," + h.max() + ","
+                            + fps + "," + repaintPixels + "," + enemies + "," + bullets + "," + particles + "," + spawnQueue + ","
+                            + poolHighWater + "," + poolAllocated + "," + poolReuse + "," + presentation);
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,80 @@
+package fillthescreen;
+
+// Trades visual quality for frame time when the screen is large and busy.
+// Once per published profiler window it compares the p90 tick plus frame
+// time against the frame budget: over DEGRADE_LOAD of it drops one level,
+// and only after RESTORE_WINDOWS calm windows in a row under RESTORE_LOAD
+// is one level given back, so a level is not toggled every second.
+// Levels are cumulative, each one keeps the reductions of those above it.
+class QualityGovernor {
+    enum Level { HIGH, FEWER_PARTICLES, SIMPLE_GRID, NO_GLOW, NO_ANTIALIAS }
+
+    static final double DEGRADE_LOAD = 0.85;
+    static final double RESTORE_LOAD = 0.5;
+    static final int RESTORE_WINDOWS = 3;
+    static final int REDUCED_EXPLOSION_PARTICLES = 5;
+
+    private volatile Level level = Level.HIGH;
+    private long budgetNanos = GameLoop.TICK_NANOS;
+    private long lastWindow = 0;
+    private int calmWindows = 0;
+    volatile boolean enabled = true; // toggled on the EDT, read on the loop thread
+
+    // Frame budget for a GameLoop frame limit, a limited frame rate above the
+    // tick rate leaves less time per frame
+    public void setFrameLimit(int framesPerSecond) {
+        budgetNanos = framesPerSecond > 0
+            ? Math.min(GameLoop.TICK_NANOS, 1_000_000_000L / framesPerSecond)
+            : GameLoop.TICK_NANOS;
+    }
+
+    // Call after every frame, acts once per profiler window. Returns true
+    // when the level changed.
+    public boolean update(Profiler profiler) {
+        long window = profiler.windows();
+        if (window == lastWindow) return false;
+        lastWindow = window;
+
+        Level previous = level;
+        long load = profiler.percentile(Profiler.Phase.FRAME, 0.9) + profiler.percentile(Profiler.Phase.TICK, 0.9);
+        if (!enabled) {
+            level = Level.HIGH;
+            calmWindows = 0;
+        } else if (load > budgetNanos * DEGRADE_LOAD) {
+            calmWindows = 0;
+            if (level.ordinal() < Level.values().length - 1) level = Level.values()[level.ordinal() + 1];
+        } else if (load < budgetNanos * RESTORE_LOAD) {
+            if (++calmWindows >= RESTORE_WINDOWS && level != Level.HIGH) {
+                level = Level.values()[level.ordinal() - 1];
+                calmWindows = 0;
+            }
+        } else {
+            calmWindows = 0;
+        }
+
+        if (level == previous) return false;
+        System.out.printf("quality %s -> %s (frame+tick p90 %.2f ms of %.2f ms budget)%n",
+                          previous, level, load / 1e6, budgetNanos / 1e6);
+        return true;
+    }
+
+    public Level level() {
+        return level;
+    }
+
+    public int explosionParticles() {
+        return level.compareTo(Level.FEWER_PARTICLES) >= 0 ? REDUCED_EXPLOSION_PARTICLES : GameWorld.EXPLOSION_PARTICLES;
+    }
+
+    public boolean simpleGrid() {
+        return level.compareTo(Level.SIMPLE_GRID) >= 0;
+    }
+
+    public boolean glow() {
+        return level.compareTo(Level.NO_GLOW) < 0;
+    }
+
+    public boolean antialias() {
+        return level.compareTo(Level.NO_ANTIALIAS) < 0;
+    }
+}
@@ -0,0 +1,168 @@
+package fillthescreen;
+
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+// Shared paint resources for GameRenderer. Colors are kept as precomputed
+// alpha ramps per base RGB, strokes per width, and labels and gradients per
+// value, so the paint path only creates them the first time it sees a new
+// one. Such creations are counted, and beginFrame/endFrame also read the
+// JVM's per-thread allocation counter, which sees everything the paint
+// allocated, Java2D internals included.
+class RenderCache {
+    public static final Font FONT_MONO_12 = new Font("Monospaced", Font.PLAIN, 12);
+    public static final Font FONT_PLAIN_16 = new Font("Arial", Font.PLAIN, 16);
+    public static final Font FONT_PLAIN_20 = new Font("Arial", Font.PLAIN, 20);
+    public static final Font FONT_BOLD_20 = new Font("Arial", Font.BOLD, 20);
+    public static final Font FONT_BOLD_24 = new Font("Arial", Font.BOLD, 24);
+    public static final Font FONT_BOLD_40 = new Font("Arial", Font.BOLD, 40);
+    public static final Font FONT_BOLD_50 = new Font("Arial", Font.BOLD, 50);
+
+    private static int[] rampKeys = new int[16];
+    private static Color[][] ramps = new Color[16][];
+    private static int rampCount = 0;
+
+    private static final BasicStroke[] strokes = new BasicStroke[8];
+
+    private static int frameAllocations = 0;
+    private static int lastFrameAllocations = 0;
+    private static long totalAllocations = 0;
+
+    // Bytes allocated by the painting thread, null where the JVM can't tell
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+    private static long frameStartBytes = 0;
+    private static long lastFrameBytes = -1;
+    private static long totalFrameBytes = 0, measuredFrames = 0;
+
+    public static Color withAlpha(Color base, int alpha) {
+        return ramp(base.getRGB() & 0xFFFFFF)[alpha];
+    }
+
+    public static Color withAlpha(int rgb, int alpha) {
+        return ramp(rgb & 0xFFFFFF)[alpha];
+    }
+
+    // All 256 alpha variants of one RGB color, built on first use
+    public static Color[] ramp(int rgb) {
+        for (int i = 0; i < rampCount; i++) {
+            if (rampKeys[i] == rgb) return ramps[i];
+        }
+        Color[] ramp = new Color[256];
+        for (int a = 0; a < 256; a++) {
+            ramp[a] = new Color((a << 24) | rgb, true);
+        }
+        countAllocations(257);
+
+        if (rampCount == rampKeys.length) {
+            rampKeys = Arrays.copyOf(rampKeys, rampCount * 2);
+            ramps = Arrays.copyOf(ramps, rampCount * 2);
+        }
+        rampKeys[rampCount] = rgb;
+        ramps[rampCount++] = ramp;
+        return ramp;
+    }
+
+    public static BasicStroke stroke(int width) {
+        BasicStroke stroke = strokes[width];
+        if (stroke == null) {
+            stroke = strokes[width] = new BasicStroke(width);
+            countAllocations(1);
+        }
+        return stroke;
+    }
+
+    public static void countAllocations(int count) {
+        frameAllocations += count;
+        totalAllocations += count;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) return null;
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    // Call around each paint, both on the thread that paints
+    public static void beginFrame() {
+        frameAllocations = 0;
+        if (THREADS != null) frameStartBytes = THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    public static void endFrame() {
+        lastFrameAllocations = frameAllocations;
+        if (THREADS != null) {
+            lastFrameBytes = THREADS.getCurrentThreadAllocatedBytes() - frameStartBytes;
+            totalFrameBytes += lastFrameBytes;
+            measuredFrames++;
+        }
+    }
+
+    // Cache entries created during the last frame
+    public static int lastFrameAllocations() {
+        return lastFrameAllocations;
+    }
+
+    public static long totalAllocations() {
+        return totalAllocations;
+    }
+
+    // Heap bytes the last frame allocated, -1 when not measured
+    public static long lastFrameBytes() {
+        return lastFrameBytes;
+    }
+
+    // Running sums for averaging allocation over several frames
+    public static long totalFrameBytes() {
+        return totalFrameBytes;
+    }
+
+    public static long measuredFrames() {
+        return measuredFrames;
+    }
+
+    // A GradientPaint rebuilt only when its end points or colors change
+    static class Gradient {
+        private int x1, y1, x2, y2;
+        private Color from, to;
+        private GradientPaint paint;
+
+        GradientPaint paint(int x1, int y1, Color from, int x2, int y2, Color to) {
+            if (paint == null || x1 != this.x1 || y1 != this.y1 || x2 != this.x2 || y2 != this.y2
+                || from != this.from || to != this.to) {
+                this.x1 = x1;
+                this.y1 = y1;
+                this.x2 = x2;
+                this.y2 = y2;
+                this.from = from;
+                this.to = to;
+                paint = new GradientPaint(x1, y1, from, x2, y2, to);
+                countAllocations(1);
+            }
+            return paint;
+        }
+    }
+
+    // Text of the form prefix + value + suffix, rebuilt only when the value changes
+    static class Label {
+        private final String prefix, suffix;
+        private long value = Long.MIN_VALUE;
+        private String text;
+
+        Label(String prefix, String suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        String text(long newValue) {
+            if (text == null || newValue != value) {
+                value = newValue;
+                text = prefix + newValue + suffix;
+                countAllocations(1);
+            }
+            return text;
+        }
+    }
+}
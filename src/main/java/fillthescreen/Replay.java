@@ -0,0 +1,109 @@
+package fillthescreen;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Drives a headless GameWorld from an InputRecorder file as fast as possible
+// and checks the final state against the hash stored in the recording.
+//
+//   java -cp target/classes fillthescreen.Replay run-1234.ftsr [more.ftsr ...]
+class Replay {
+
+    static class Result {
+        GameWorld world;
+        long ticks;
+        long nanos;
+        boolean complete;     // recording had an end marker
+        long expectedTicks;
+        long expectedHash;
+
+        boolean matches() {
+            return complete && ticks == expectedTicks && world.stateHash() == expectedHash;
+        }
+    }
+
+    public static Result run(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != InputRecorder.MAGIC) throw new IOException("Not a FillTheScreen recording");
+        int version = in.readUnsignedByte();
+        if (version != InputRecorder.VERSION) throw new IOException("Unsupported recording version " + version);
+
+        long seed = in.readLong();
+        int flags = in.readUnsignedByte();
+        int steering = in.readUnsignedByte();
+
+        Result result = new Result();
+        GameWorld world = result.world = new GameWorld(seed);
+        if ((flags & InputRecorder.HEADER_CHEAT) != 0) world.enableCheat();
+        world.steering = Steering.values()[steering];
+        world.start(seed);
+
+        GameInput input = new GameInput();
+        long start = System.nanoTime();
+        try {
+            while (true) {
+                int mask = in.readUnsignedByte();
+                if (mask == InputRecorder.END) {
+                    result.expectedTicks = VarInt.read(in);
+                    result.expectedHash = in.readLong();
+                    result.complete = true;
+                    break;
+                }
+                if (mask == 0) {
+                    input.cheat = false;
+                    for (long n = VarInt.read(in); n > 0; n--) {
+                        world.step(input);
+                    }
+                    continue;
+                }
+                if ((mask & InputRecorder.KEYS) != 0) {
+                    int bits = in.readUnsignedByte();
+                    input.up = (bits & InputRecorder.KEY_UP) != 0;
+                    input.down = (bits & InputRecorder.KEY_DOWN) != 0;
+                    input.left = (bits & InputRecorder.KEY_LEFT) != 0;
+                    input.right = (bits & InputRecorder.KEY_RIGHT) != 0;
+                    input.throttleSpawns = (bits & InputRecorder.KEY_THROTTLE) != 0;
+                }
+                if ((mask & InputRecorder.AIM) != 0) {
+                    input.aimX += (int) VarInt.readSigned(in);
+                    input.aimY += (int) VarInt.readSigned(in);
+                }
+                if ((mask & InputRecorder.PARTICLES) != 0) {
+                    input.explosionParticles = in.readUnsignedByte();
+                }
+                input.cheat = (mask & InputRecorder.CHEAT) != 0;
+                world.step(input);
+            }
+        } catch (EOFException e) {
+            // Recording was cut short (window closed mid-match), replay what is there
+        }
+        result.nanos = System.nanoTime() - start;
+        result.ticks = world.tickCount;
+        return result;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: java fillthescreen.Replay <recording.ftsr> [...]");
+            System.exit(2);
+        }
+        boolean allMatch = true;
+        for (String path : args) {
+            Result r;
+            try (InputStream in = new FileInputStream(path)) {
+                r = run(in);
+            }
+            String outcome = r.world.playerWins ? "win" : r.world.gameOver ? "loss" : "unfinished";
+            String check = !r.complete ? "UNVERIFIED" : r.matches() ? "OK" : "MISMATCH";
+            double seconds = r.nanos / 1e9;
+            System.out.printf("%s: %d ticks, %s, score %d, %.1f ms (%.0f ticks/s) %s%n",
+                              path, r.ticks, outcome, r.world.score, seconds * 1000, r.ticks / Math.max(seconds, 1e-9), check);
+            if (r.complete && !r.matches()) allMatch = false;
+        }
+        if (!allMatch) System.exit(1);
+    }
+}
@@ -0,0 +1,51 @@
+package fillthescreen;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Ring of in-memory SaveState snapshots taken every INTERVAL_TICKS while
+// playing. Slot buffers are kept and reused, so once the ring has filled
+// capturing a snapshot allocates no buffer unless the fight outgrows a slot.
+class RewindBuffer {
+    static final int INTERVAL_TICKS = 30;  // about half a second of play
+    static final int CAPACITY = 20;        // ten seconds of history
+
+    private final ByteBuffer[] slots = new ByteBuffer[CAPACITY];
+    private int head = 0, size = 0;
+
+    public void clear() {
+        head = size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Call after every tick, snapshots on the interval
+    public void capture(GameWorld world) {
+        if (world.tickCount % INTERVAL_TICKS != 0) return;
+        int slot = (head + size) % CAPACITY;
+        if (size == CAPACITY) {
+            head = (head + 1) % CAPACITY;
+        } else {
+            size++;
+        }
+        slots[slot] = SaveState.ensureCapacity(slots[slot], world);
+        SaveState.write(world, slots[slot]);
+        slots[slot].flip();
+    }
+
+    // Restores the newest snapshot older than tick into target and drops it,
+    // so repeated calls step further back. Returns false when there is none.
+    public boolean rewind(long tick, GameWorld target) throws IOException {
+        while (size > 0) {
+            int slot = (head + size - 1) % CAPACITY;
+            size--;
+            ByteBuffer snapshot = slots[slot].duplicate().order(slots[slot].order());
+            if (snapshot.getLong(SaveState.HEADER_BYTES) >= tick) continue;
+            SaveState.read(snapshot, target);
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,229 @@
+package fillthescreen;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// Binary snapshot of a whole GameWorld, for save files and the rewind ring.
+// Fixed-width little-endian fields, so writing and reading are straight
+// buffer puts and gets, with particle arrays copied in bulk. Format:
+//   header    "FTSS" magic int, version byte, length of everything up
+//             to the checksum that follows the header, int
+//   world     tick, random state, flags, screen size, player, health,
+//             score and shooting fields, steering, spawn inputs
+//   spawner   SpawnScheduler.write
+//   bullets   count, then x, y, prevX, prevY, dx, dy per bullet
+//   enemies   count, then x, y, prevX, prevY, posX, posY per enemy
+//   boss      presence byte, then the enemy fields plus width and height
+//   particles ParticleSystem.write
+//   trailer   GameWorld.stateHash() long, checked after a restore, then
+//             CRC32 of everything before it, int, checked before
+// The hash only covers what the simulation depends on, so the checksum is
+// what catches damage to render-only fields like prevX or particle colors.
+// The GameConfig is not saved; a snapshot restores into a world built with
+// the same config. Arena guests and entity ids belong to an ArenaServer
+// session and are not saved either.
+class SaveState {
+    static final int MAGIC = 0x46545353; // "FTSS"
+    static final int VERSION = 2;
+
+    static final int HEADER_BYTES = 9;
+    static final int WORLD_BYTES = 80;
+    static final int BULLET_BYTES = 32, ENEMY_BYTES = 24, BOSS_BYTES = 33;
+
+    // World flag bits
+    static final int RUNNING = 1, GAME_OVER = 2, PLAYER_WINS = 4, CHEAT = 8, THROTTLED = 16;
+
+    // Upper bound on the encoded size of the world as it is now
+    static int maxBytes(GameWorld world) {
+        return HEADER_BYTES + WORLD_BYTES + SpawnScheduler.maxBytes()
+             + 4 + world.bullets.size() * BULLET_BYTES
+             + 4 + world.enemies.size() * ENEMY_BYTES
+             + BOSS_BYTES + world.particles.maxBytes() + 8 + 4;
+    }
+
+    // Buffer large enough for the world, reusing buffer when it already is
+    static ByteBuffer ensureCapacity(ByteBuffer buffer, GameWorld world) {
+        int needed = maxBytes(world);
+        if (buffer != null && buffer.capacity() >= needed) return buffer.clear();
+        // Headroom so a growing fight does not reallocate every snapshot
+        return ByteBuffer.allocateDirect(needed + needed / 2).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Encodes the world from the buffer's position, which must have maxBytes
+    // remaining and little-endian order
+    static void write(GameWorld world, ByteBuffer out) {
+        int start = out.position();
+        out.putInt(MAGIC).put((byte) VERSION).putInt(0);
+
+        out.putLong(world.tickCount).putLong(world.random.state());
+        out.putInt((world.running ? RUNNING : 0) | (world.gameOver ? GAME_OVER : 0) | (world.playerWins ? PLAYER_WINS : 0)
+                   | (world.cheatEnabled ? CHEAT : 0) | (world.spawnThrottled ? THROTTLED : 0));
+        out.putInt(world.screenWidth).putInt(world.screenHeight);
+        out.putInt(world.player.x).putInt(world.player.y).putInt(world.prevPlayerX).putInt(world.prevPlayerY);
+        out.putInt(world.playerHealth).putInt(world.playerMaxHealth).putInt(world.bossHealth);
+        out.putInt(world.enemiesKilled).putInt(world.score).putInt(world.shootClock).putInt(world.autoShootDelay);
+        out.putInt(world.steering.ordinal()).putInt(world.explosionParticles);
+        world.spawner.write(out);
+
+        out.putInt(world.bullets.size());
+        for (int i = 0; i < world.bullets.size(); i++) {
+            Bullet b = world.bullets.get(i);
+            out.putInt(b.x).putInt(b.y).putInt(b.prevX).putInt(b.prevY).putDouble(b.dx).putDouble(b.dy);
+        }
+        writeEnemies(world.enemies, out);
+        Boss boss = world.boss;
+        out.put((byte) (boss != null ? 1 : 0));
+        if (boss != null) {
+            out.putInt(boss.x).putInt(boss.y).putInt(boss.prevX).putInt(boss.prevY).putFloat(boss.posX).putFloat(boss.posY);
+            out.putInt(boss.width).putInt(boss.height);
+        }
+        world.particles.write(out);
+
+        out.putLong(world.stateHash());
+        out.putInt(start + HEADER_BYTES - 4, out.position() - start - HEADER_BYTES);
+        out.putInt(checksum(out, start, out.position()));
+    }
+
+    // CRC32 of the bytes from start up to end, the buffer's position is kept
+    private static int checksum(ByteBuffer buffer, int start, int end) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(end).position(start));
+        return (int) crc.getValue();
+    }
+
+    private static void writeEnemies(EnemyStore enemies, ByteBuffer out) {
+        out.putInt(enemies.size());
+        for (int i = 0; i < enemies.size(); i++) {
+            out.putInt(enemies.x[i]).putInt(enemies.y[i]).putInt(enemies.prevX[i]).putInt(enemies.prevY[i])
+               .putFloat(enemies.posX[i]).putFloat(enemies.posY[i]);
+        }
+    }
+
+    // Replaces the world's state with the snapshot at the buffer's position.
+    // The header and checksum are checked before anything is touched; a
+    // trailer hash that does not match after that means the decoder and
+    // encoder disagree, and the world is undefined. A world that has to
+    // survive a bad snapshot should not be the target.
+    static void read(ByteBuffer in, GameWorld world) throws IOException {
+        in.order(ByteOrder.LITTLE_ENDIAN);
+        int start = in.position();
+        if (in.remaining() < HEADER_BYTES + WORLD_BYTES || in.getInt() != MAGIC) throw new IOException("Not a save state");
+        int version = in.get();
+        if (version != VERSION) throw new IOException("Unsupported save state version " + version);
+        int length = in.getInt();
+        if (length < WORLD_BYTES || length > in.remaining() - 4) throw new IOException("Save state is truncated or damaged");
+        int end = start + HEADER_BYTES + length;
+        if (in.getInt(end) != checksum(in, start, end)) throw new IOException("Save state is damaged, checksum mismatch");
+        long hash;
+        try {
+            readWorld(in, world);
+            hash = in.getLong();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Save state is truncated or damaged", e);
+        }
+        if (in.position() != end || hash != world.stateHash()) throw new IOException("Save state is damaged, hash mismatch");
+        in.position(end + 4);
+    }
+
+    private static void readWorld(ByteBuffer in, GameWorld world) throws IOException {
+        world.tickCount = in.getLong();
+        world.random.setState(in.getLong());
+        int flags = in.getInt();
+        world.running = (flags & RUNNING) != 0;
+        world.gameOver = (flags & GAME_OVER) != 0;
+        world.playerWins = (flags & PLAYER_WINS) != 0;
+        world.cheatEnabled = (flags & CHEAT) != 0;
+        world.spawnThrottled = (flags & THROTTLED) != 0;
+        world.screenWidth = in.getInt();
+        world.screenHeight = in.getInt();
+        world.player.setLocation(in.getInt(), in.getInt());
+        world.prevPlayerX = in.getInt();
+        world.prevPlayerY = in.getInt();
+        world.playerHealth = in.getInt();
+        world.playerMaxHealth = in.getInt();
+        world.bossHealth = in.getInt();
+        world.enemiesKilled = in.getInt();
+        world.score = in.getInt();
+        world.shootClock = in.getInt();
+        world.autoShootDelay = in.getInt();
+        world.steering = Steering.values()[in.getInt()];
+        world.explosionParticles = in.getInt();
+        world.spawner.read(in);
+
+        for (int i = 0; i < world.bullets.size(); i++) world.bulletPool.release(world.bullets.get(i));
+        world.bullets.clear();
+        for (int i = in.getInt(); i > 0; i--) {
+            Bullet b = world.bulletPool.acquire();
+            b.x = in.getInt();
+            b.y = in.getInt();
+            b.prevX = in.getInt();
+            b.prevY = in.getInt();
+            b.dx = in.getDouble();
+            b.dy = in.getDouble();
+            world.bullets.add(b);
+        }
+        EnemyStore enemies = world.enemies;
+        enemies.clear();
+        for (int i = in.getInt(); i > 0; i--) {
+            int x = in.getInt(), y = in.getInt(), prevX = in.getInt(), prevY = in.getInt();
+            float posX = in.getFloat(), posY = in.getFloat();
+            int e = enemies.add(x, y);
+            enemies.prevX[e] = prevX;
+            enemies.prevY[e] = prevY;
+            enemies.posX[e] = posX;
+            enemies.posY[e] = posY;
+        }
+        world.boss = null;
+        if (in.get() != 0) {
+            Boss boss = new Boss(in.getInt(), in.getInt(), 0, 0);
+            boss.prevX = in.getInt();
+            boss.prevY = in.getInt();
+            boss.posX = in.getFloat();
+            boss.posY = in.getFloat();
+            boss.setSize(in.getInt(), in.getInt());
+            world.boss = boss;
+        }
+        world.particles.read(in);
+    }
+
+    // Snapshot in a buffer of its own, for writing with writeFile once the
+    // world may change again
+    static ByteBuffer encode(GameWorld world) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(maxBytes(world)).order(ByteOrder.LITTLE_ENDIAN);
+        write(world, buffer);
+        return buffer.flip();
+    }
+
+    // Writes the bytes remaining in an encoded buffer as a snapshot file
+    static void writeFile(ByteBuffer bytes, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) channel.write(bytes);
+        }
+    }
+
+    // Restores from a snapshot file
+    static void load(Path path, GameWorld world) throws IOException {
+        read(readFile(path), world);
+    }
+
+    // Whole snapshot file in a heap buffer. Not mapped: a live mapping keeps
+    // the file locked on Windows, and the next save could not truncate it.
+    static ByteBuffer readFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("Not a save state");
+            ByteBuffer bytes = ByteBuffer.allocate((int) size);
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes) < 0) throw new IOException("Save state is truncated or damaged");
+            }
+            return bytes.flip();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package fillthescreen;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// Alternative backend for the gameplay layer that rasterizes straight into
+// the int[] of a premultiplied ARGB image and blits it once per frame. The
+// per-shape Java2D setup disappears; every shape becomes row spans filled
+// by plain array loops the JIT can unroll and vectorize. Text and overlays
+// are still drawn with Java2D on top of the blitted frame.
+class SoftwareRenderer {
+    private static BufferedImage image;
+    private static int[] pixels;
+    private static int[] background;
+    private static int width, height, backgroundKey;
+
+    // Sizes the surface and starts the frame from the cached background
+    public static void begin(int screenWidth, int screenHeight, Color gridColor) {
+        if (image == null || width != screenWidth || height != screenHeight) {
+            width = screenWidth;
+            height = screenHeight;
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            // Grabbing the array makes the image unmanaged, it is uploaded on every blit anyway
+            pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            background = null;
+            RenderCache.countAllocations(1);
+        }
+        int key = GameRenderer.simpleGrid ? ~gridColor.getRGB() : gridColor.getRGB();
+        if (background == null || backgroundKey != key) {
+            background = new int[width * height];
+            backgroundKey = key;
+            paintBackground(background, width, height, gridColor.getRGB(), GameRenderer.simpleGrid);
+            RenderCache.countAllocations(1);
+        }
+        System.arraycopy(background, 0, pixels, 0, pixels.length);
+    }
+
+    public static void blit(Graphics2D g2d) {
+        g2d.drawImage(image, 0, 0, null);
+    }
+
+    // Same gradient and 50 px grid as GameRenderer.drawBackground, or its
+    // flat 100 px variant when the grid is simplified
+    private static void paintBackground(int[] target, int w, int h, int gridRgb, boolean simple) {
+        int step = simple ? 100 : 50;
+        float length = (float) w * w + (float) h * h;
+        if (simple) Arrays.fill(target, 0xFF000000 | GameRenderer.PANEL_COLOR.darker().getRGB());
+        for (int y = 0; y < h && !simple; y++) {
+            int row = y * w;
+            for (int x = 0; x < w; x++) {
+                float t = Math.max(0f, Math.min(1f, (x * (float) w + y * (float) h) / length));
+                int c = 15 + Math.round(10 * t);
+                target[row + x] = 0xFF000000 | (c << 16) | (c << 8) | (c + 10);
+            }
+        }
+        int grid = 0xFF000000 | gridRgb;
+        for (int x = 0; x < w; x += step) {
+            for (int y = 0; y < h; y++) target[y * w + x] = grid;
+        }
+        for (int y = 0; y < h; y += step) {
+            Arrays.fill(target, y * w, y * w + w, grid);
+        }
+    }
+
+    // Source-over blend of a straight-alpha color into pixels [from, to)
+    private static void blendSpan(int from, int to, int rgb, int alpha) {
+        if (alpha <= 0 || from >= to) return;
+        if (alpha >= 255) {
+            Arrays.fill(pixels, from, to, 0xFF000000 | rgb);
+            return;
+        }
+        int src = premultiply(rgb, alpha);
+        int inverse = 256 - (alpha + (alpha >> 7));
+        int[] p = pixels;
+        for (int i = from; i < to; i++) {
+            int d = p[i];
+            int rb = (((d & 0x00FF00FF) * inverse) >>> 8) & 0x00FF00FF;
+            int ag = (((d >>> 8) & 0x00FF00FF) * inverse) & 0xFF00FF00;
+            p[i] = src + rb + ag;
+        }
+    }
+
+    private static void blendPixel(int i, int rgb, int alpha) {
+        blendSpan(i, i + 1, rgb, alpha);
+    }
+
+    private static int premultiply(int rgb, int alpha) {
+        int r = ((rgb >> 16) & 0xFF) * alpha / 255;
+        int g = ((rgb >> 8) & 0xFF) * alpha / 255;
+        int b = (rgb & 0xFF) * alpha / 255;
+        return (alpha << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    public static void fillRect(int x, int y, int w, int h, int rgb, int alpha) {
+        int x0 = Math.max(0, x), x1 = Math.min(width, x + w);
+        int y0 = Math.max(0, y), y1 = Math.min(height, y + h);
+        for (int row = y0; row < y1; row++) {
+            blendSpan(row * width + x0, row * width + x1, rgb, alpha);
+        }
+    }
+
+    // Disc filling the box (x, y, w, w) like fillOval, with horizontal edge coverage
+    public static void fillCircle(float x, float y, float w, int rgb, int alpha) {
+        float r = w / 2, cx = x + r, cy = y + r;
+        int y0 = Math.max(0, (int) Math.floor(cy - r)), y1 = Math.min(height - 1, (int) Math.ceil(cy + r));
+        for (int row = y0; row <= y1; row++) {
+            float dy = row + 0.5f - cy;
+            float span = r * r - dy * dy;
+            if (span <= 0) continue;
+            float half = (float) Math.sqrt(span);
+            spanWithEdges(row, cx - half, cx + half, rgb, alpha);
+        }
+    }
+
+    // Annulus between radius r and r - thickness, used for the player outline
+    public static void drawRing(float x, float y, float w, float thickness, int rgb, int alpha) {
+        float outer = w / 2 + thickness / 2, inner = w / 2 - thickness / 2;
+        float cx = x + w / 2, cy = y + w / 2;
+        int y0 = Math.max(0, (int) Math.floor(cy - outer)), y1 = Math.min(height - 1, (int) Math.ceil(cy + outer));
+        for (int row = y0; row <= y1; row++) {
+            float dy = row + 0.5f - cy;
+            float outerSpan = outer * outer - dy * dy;
+            if (outerSpan <= 0) continue;
+            float outerHalf = (float) Math.sqrt(outerSpan);
+            float innerSpan = inner * inner - dy * dy;
+            if (innerSpan <= 0) {
+                spanWithEdges(row, cx - outerHalf, cx + outerHalf, rgb, alpha);
+            } else {
+                float innerHalf = (float) Math.sqrt(innerSpan);
+                spanWithEdges(row, cx - outerHalf, cx - innerHalf, rgb, alpha);
+                spanWithEdges(row, cx + innerHalf, cx + outerHalf, rgb, alpha);
+            }
+        }
+    }
+
+    // Fills [left, right) on one row, edge pixels weighted by their coverage
+    private static void spanWithEdges(int row, float left, float right, int rgb, int alpha) {
+        int l = (int) Math.floor(left), r = (int) Math.floor(right);
+        int base = row * width;
+        if (l == r) {
+            if (l >= 0 && l < width) blendPixel(base + l, rgb, Math.round(alpha * (right - left)));
+            return;
+        }
+        if (l >= 0 && l < width) blendPixel(base + l, rgb, Math.round(alpha * (l + 1 - left)));
+        blendSpan(base + Math.max(0, l + 1), base + Math.min(width, r), rgb, alpha);
+        if (r >= 0 && r < width) blendPixel(base + r, rgb, Math.round(alpha * (right - r)));
+    }
+
+    public static void drawParticles(ParticleSystem particles) {
+        for (int i = 0; i < particles.size(); i++) {
+            fillCircle((int) particles.x[i], (int) particles.y[i], particles.size[i], particles.rgb[i], particles.alpha[i]);
+        }
+    }
+
+    public static void drawPlayer(Rectangle player, Color playerColor) {
+        int rgb = playerColor.getRGB() & 0xFFFFFF;
+        if (GameRenderer.glowEnabled) fillCircle(player.x - 5, player.y - 5, player.width + 10, rgb, 50);
+        drawRing(player.x, player.y, player.width, 3, rgb, 255);
+    }
+
+    public static void drawBullets(ArrayList<Bullet> bullets, Color bulletColor, int bulletSize, float alpha) {
+        int rgb = bulletColor.getRGB() & 0xFFFFFF, a = bulletColor.getAlpha();
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet bullet = bullets.get(i);
+            int x = GameRenderer.lerp(bullet.prevX, bullet.x, alpha);
+            int y = GameRenderer.lerp(bullet.prevY, bullet.y, alpha);
+            if (GameRenderer.glowEnabled) fillCircle(x - 2, y - 2, bulletSize + 4, 0xFFFFFF, 100);
+            fillCircle(x, y, bulletSize, rgb, a);
+        }
+    }
+
+    public static void drawEnemies(EnemyStore enemies, Color enemyColor, float alpha) {
+        int rgb = enemyColor.getRGB() & 0xFFFFFF;
+        for (int i = 0; i < enemies.size(); i++) {
+            int x = GameRenderer.lerp(enemies.prevX[i], enemies.x[i], alpha);
+            int y = GameRenderer.lerp(enemies.prevY[i], enemies.y[i], alpha);
+            if (GameRenderer.glowEnabled) fillCircle(x - 2, y - 2, enemies.width + 4, rgb, 50);
+            fillCircle(x, y, enemies.width, rgb, 255);
+        }
+    }
+
+    public static void drawBoss(Boss boss, Color bossColor, int bossHealth, int maxBossHealth, int bossSize, float alpha) {
+        int rgb = bossColor.getRGB() & 0xFFFFFF;
+        int x = GameRenderer.lerp(boss.prevX, boss.x, alpha);
+        int y = GameRenderer.lerp(boss.prevY, boss.y, alpha);
+        if (GameRenderer.glowEnabled) fillCircle(x - 10, y - 10, boss.width + 20, rgb, 50);
+        fillCircle(x, y, boss.width, rgb, 255);
+
+        fillRect(x, y - 15, bossSize, 10, 0xFF0000, 255);
+        fillRect(x, y - 15, (int) (bossSize * ((float) bossHealth / maxBossHealth)), 10, 0x00FF00, 255);
+    }
+
+    // Bars of GameRenderer.drawHUDBars, the text is left to drawHUDText
+    public static void drawHUDBars(int playerHealth, int maxPlayerHealth, int screenWidth, int screenHeight,
+                                   int maxWidth, int maxHeight) {
+        int panel = GameRenderer.PANEL_COLOR.getRGB() & 0xFFFFFF;
+        fillRect(20, 20, maxPlayerHealth + 4, 14, panel, 255);
+        fillRect(22, 22, maxPlayerHealth, 10, 0xFF0000, 255);
+        fillRect(22, 22, playerHealth, 10, 0x00FF00, 255);
+
+        int progressWidth = 200;
+        float fillProgress = GameRenderer.fillProgress(screenWidth, screenHeight, maxWidth, maxHeight);
+        fillRect(screenWidth - progressWidth - 30, 20, progressWidth + 4, 14, panel, 255);
+        fillRect(screenWidth - progressWidth - 28, 22, (int) (progressWidth * fillProgress), 10,
+                 GameRenderer.FILL_BAR_COLOR.getRGB() & 0xFFFFFF, 255);
+    }
+}
@@ -0,0 +1,102 @@
+package fillthescreen;
+
+import java.util.Arrays;
+
+// Uniform grid broadphase. Entities are stored by integer id in every cell
+// their bounds overlap; cells outside the screen are clamped to the border
+// cells, so entities spawning just off-screen are still found.
+class SpatialGrid {
+    private final int cellSize;
+    private int cols, rows;
+
+    // Per-cell singly linked lists of entries, all in flat int arrays
+    private int[] cellHead = new int[0];
+    private int[] entryNext = new int[256];
+    private int[] entryId = new int[256];
+    private int entryCount = 0;
+
+    // Query de-duplication: an id is reported once per query
+    private int[] seenStamp = new int[256];
+    private int stamp = 0;
+
+    // Results of the last query
+    private int[] results = new int[64];
+    private int resultCount = 0;
+
+    public SpatialGrid(int cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    public void clear(int width, int height) {
+        cols = width / cellSize + 1;
+        rows = height / cellSize + 1;
+        if (cellHead.length < cols * rows) {
+            cellHead = new int[cols * rows];
+        }
+        Arrays.fill(cellHead, 0, cols * rows, -1);
+        entryCount = 0;
+    }
+
+    public void insert(int id, int x, int y, int width, int height) {
+        if (id >= seenStamp.length) {
+            seenStamp = Arrays.copyOf(seenStamp, Math.max(id + 1, seenStamp.length * 2));
+        }
+        int minCol = col(x), maxCol = col(x + width - 1);
+        int minRow = row(y), maxRow = row(y + height - 1);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                if (entryCount == entryId.length) {
+                    entryId = Arrays.copyOf(entryId, entryCount * 2);
+                    entryNext = Arrays.copyOf(entryNext, entryCount * 2);
+                }
+                int cell = r * cols + c;
+                entryId[entryCount] = id;
+                entryNext[entryCount] = cellHead[cell];
+                cellHead[cell] = entryCount++;
+            }
+        }
+    }
+
+    // Collects the ids of every entity sharing a cell with the given bounds.
+    // Returns the number of results, read them back with result(i).
+    public int query(int x, int y, int width, int height) {
+        resultCount = 0;
+        if (++stamp == 0) {
+            Arrays.fill(seenStamp, 0);
+            stamp = 1;
+        }
+        int minCol = col(x), maxCol = col(x + width - 1);
+        int minRow = row(y), maxRow = row(y + height - 1);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                for (int e = cellHead[r * cols + c]; e != -1; e = entryNext[e]) {
+                    int id = entryId[e];
+                    if (seenStamp[id] == stamp) continue;
+                    seenStamp[id] = stamp;
+                    if (resultCount == results.length) {
+                        results = Arrays.copyOf(results, resultCount * 2);
+                    }
+                    results[resultCount++] = id;
+                }
+            }
+        }
+        return resultCount;
+    }
+
+    public int result(int i) {
+        return results[i];
+    }
+
+    // Sorts the last query's ids so callers can walk them in index order
+    public void sortResults() {
+        Arrays.sort(results, 0, resultCount);
+    }
+
+    private int col(int x) {
+        return Math.max(0, Math.min(cols - 1, Math.floorDiv(x, cellSize)));
+    }
+
+    private int row(int y) {
+        return Math.max(0, Math.min(rows - 1, Math.floorDiv(y, cellSize)));
+    }
+}
@@ -0,0 +1,138 @@
+package fillthescreen;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+// Enemy spawning from precomputed wave timelines instead of a random roll
+// every tick. Each wave is planned when it starts: its enemies are split
+// into batches that enter together from one side, spread over the wave with
+// a little jitter, and queued in due order. Spawning then only pops what is
+// due, limited per tick (density cap) and by a hard cap on live enemies.
+//
+// Queued spawns keep their side and a fraction along it rather than pixel
+// positions, so they map onto the screen size at the moment they enter.
+class SpawnScheduler {
+    static final int WAVE_TICKS = 300;          // one wave every 4.8 simulated seconds
+    static final int BATCH_SIZE = 3;            // enemies per batch, all from one side
+    static final int BATCH_SPREAD = 4096;       // batch members land within this share of a side
+    static final int MAX_SPAWNS_PER_TICK = 2;
+    static final int QUEUE_CAPACITY = 512;
+    static final int OFFSET_RANGE = 1 << 16;   // offsets are fractions of a side in 1/65536
+
+    // Pending spawns, a ring buffer ordered by due tick
+    private final long[] dueTick = new long[QUEUE_CAPACITY];
+    private final byte[] side = new byte[QUEUE_CAPACITY];
+    private final int[] offset = new int[QUEUE_CAPACITY];
+    private int head = 0, size = 0;
+
+    private long nextWaveTick = 0;
+    int wave = 0;
+    int dropped = 0; // planned spawns that did not fit the queue
+
+    public void reset() {
+        head = size = 0;
+        nextWaveTick = 0;
+        wave = 0;
+        dropped = 0;
+    }
+
+    public int queueDepth() {
+        return size;
+    }
+
+    // Plans any wave that has started, then spawns whatever is due. While
+    // throttled the live cap is halved and the rest waits in the queue.
+    public void update(GameWorld world, boolean throttled) {
+        long tick = world.tickCount;
+        while (nextWaveTick <= tick) {
+            planWave(world.random, world.config, nextWaveTick);
+            nextWaveTick += WAVE_TICKS;
+            wave++;
+        }
+
+        int liveCap = throttled ? world.config.maxLiveEnemies / 2 : world.config.maxLiveEnemies;
+        int spawned = 0;
+        while (size > 0 && dueTick[head] <= tick && spawned < MAX_SPAWNS_PER_TICK && world.enemies.size() < liveCap) {
+            world.spawnEnemy(side[head], offset[head]);
+            head = (head + 1) % QUEUE_CAPACITY;
+            size--;
+            spawned++;
+        }
+
+        // Boss enters once enough enemies are down
+        if (world.enemiesKilled >= world.config.bossSpawnThreshold && world.boss == null) {
+            world.spawnBoss();
+        }
+    }
+
+    // Same average rate as the old per-tick roll: enemySpawnRate percent of
+    // the wave's ticks, grouped into evenly spaced, jittered batches. At
+    // most one batch per tick; what doesn't fit could never fit the queue
+    // either and counts as dropped.
+    private void planWave(Random random, GameConfig config, long start) {
+        int count = Math.round(WAVE_TICKS * config.enemySpawnRate / 100f);
+        int batches = Math.min((count + BATCH_SIZE - 1) / BATCH_SIZE, WAVE_TICKS);
+        if (batches <= 0) return;
+        int slot = WAVE_TICKS / batches;
+        dropped += Math.max(0, count - batches * BATCH_SIZE);
+
+        for (int b = 0; b < batches; b++) {
+            long due = start + (long) b * slot + random.nextInt(slot);
+            int batchSide = random.nextInt(4);
+            int base = random.nextInt(OFFSET_RANGE - BATCH_SPREAD);
+            for (int k = 0; k < BATCH_SIZE && b * BATCH_SIZE + k < count; k++) {
+                int position = base + random.nextInt(BATCH_SPREAD);
+                if (size == QUEUE_CAPACITY) {
+                    dropped++;
+                    continue;
+                }
+                int tail = (head + size) % QUEUE_CAPACITY;
+                dueTick[tail] = due;
+                side[tail] = (byte) batchSide;
+                offset[tail] = position;
+                size++;
+            }
+        }
+    }
+
+    // Queue and wave position for SaveState, pending spawns in due order
+    public void write(ByteBuffer out) {
+        out.putLong(nextWaveTick).putInt(wave).putInt(dropped).putInt(size);
+        for (int i = 0; i < size; i++) {
+            int j = (head + i) % QUEUE_CAPACITY;
+            out.putLong(dueTick[j]).put(side[j]).putInt(offset[j]);
+        }
+    }
+
+    public void read(ByteBuffer in) throws IOException {
+        nextWaveTick = in.getLong();
+        wave = in.getInt();
+        dropped = in.getInt();
+        int saved = in.getInt();
+        if (saved < 0 || saved > QUEUE_CAPACITY) throw new IOException("Bad spawn queue size " + saved);
+        size = saved;
+        head = 0;
+        for (int i = 0; i < size; i++) {
+            dueTick[i] = in.getLong();
+            side[i] = in.get();
+            offset[i] = in.getInt();
+        }
+    }
+
+    static int maxBytes() {
+        return 20 + QUEUE_CAPACITY * 13;
+    }
+
+    // Folds the queue into a state hash so replays also verify pending spawns
+    public long hash(long h) {
+        h = h * 31 + nextWaveTick;
+        h = h * 31 + size;
+        for (int i = 0; i < size; i++) {
+            int j = (head + i) % QUEUE_CAPACITY;
+            h = h * 31 + dueTick[j];
+            h = h * 31 + ((long) side[j] << 32 | offset[j]);
+        }
+        return h;
+    }
+}
@@ -0,0 +1,106 @@
+package fillthescreen;
+
+import java.awt.*;
+import java.awt.image.VolatileImage;
+import java.util.Arrays;
+
+// Pre-rendered glow + core sprites for the round entities. Each sprite is
+// rasterized once into an accelerated VolatileImage (or a compatible
+// BufferedImage where volatile translucency isn't available) and then just
+// blitted. Lost or incompatible surfaces are rebuilt on the next validate.
+class SpriteAtlas {
+
+    static class Sprite {
+        final int size, pad;
+        final Color glowColor, coreColor;
+        private VolatileImage volatileImage;
+        private Image image;
+
+        Sprite(int size, int pad, Color glowColor, Color coreColor) {
+            this.size = size;
+            this.pad = pad;
+            this.glowColor = glowColor;
+            this.coreColor = coreColor;
+        }
+
+        // Makes the sprite drawable on this device, returns false if the
+        // caller should fall back to vector drawing for this frame
+        boolean prepare(GraphicsConfiguration gc) {
+            if (gc == null) return false;
+            try {
+                if (image == null) {
+                    create(gc);
+                } else if (volatileImage != null) {
+                    int status = volatileImage.validate(gc);
+                    if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                        volatileImage.flush();
+                        create(gc);
+                    } else if (status == VolatileImage.IMAGE_RESTORED) {
+                        render(volatileImage);
+                    }
+                }
+                return image != null;
+            } catch (RuntimeException e) {
+                image = volatileImage = null;
+                return false;
+            }
+        }
+
+        boolean contentsLost() {
+            return volatileImage != null && volatileImage.contentsLost();
+        }
+
+        void draw(Graphics2D g2d, int x, int y) {
+            g2d.drawImage(image, x - pad, y - pad, null);
+        }
+
+        private void create(GraphicsConfiguration gc) {
+            int extent = size + pad * 2;
+            volatileImage = gc.createCompatibleVolatileImage(extent, extent, Transparency.TRANSLUCENT);
+            if (volatileImage != null) {
+                volatileImage.validate(gc);
+                image = volatileImage;
+            } else {
+                image = gc.createCompatibleImage(extent, extent, Transparency.TRANSLUCENT);
+            }
+            render(image);
+        }
+
+        private void render(Image target) {
+            Graphics2D g = (Graphics2D) target.getGraphics();
+            try {
+                g.setComposite(AlphaComposite.Clear);
+                g.fillRect(0, 0, size + pad * 2, size + pad * 2);
+                g.setComposite(AlphaComposite.SrcOver);
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+                g.setColor(glowColor);
+                g.fillOval(0, 0, size + pad * 2, size + pad * 2);
+                g.setColor(coreColor);
+                g.fillOval(pad, pad, size, size);
+            } finally {
+                g.dispose();
+            }
+        }
+    }
+
+    private static Sprite[] sprites = new Sprite[8];
+    private static int spriteCount = 0;
+
+    // Looks up (or registers) the sprite for a glow/core pair; rasterized on first prepare
+    public static Sprite get(int size, int pad, Color glowColor, Color coreColor) {
+        for (int i = 0; i < spriteCount; i++) {
+            Sprite s = sprites[i];
+            if (s.size == size && s.pad == pad && s.glowColor.equals(glowColor) && s.coreColor.equals(coreColor)) {
+                return s;
+            }
+        }
+        if (spriteCount == sprites.length) {
+            sprites = Arrays.copyOf(sprites, spriteCount * 2);
+        }
+        Sprite sprite = new Sprite(size, pad, glowColor, coreColor);
+        sprites[spriteCount++] = sprite;
+        RenderCache.countAllocations(1);
+        return sprite;
+    }
+}
@@ -0,0 +1,337 @@
+package fillthescreen;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// High scores and lifetime totals kept across restarts in a directory of
+// two files, both fixed-width little-endian like SaveState:
+//   runs.ftsl     append-only log of every finished run
+//                   header "FTSL" magic int, version byte
+//                   runs   RECORD_BYTES each: end time, seed, ticks, score,
+//                          kills, flags (won, cheat, restored)
+//   summary.ftsu  the log folded up to some length
+//                   header "FTSU" magic int, version byte
+//                   log length covered, runs, wins, ticks, kills (longs)
+//                   top count int, then that many run records
+//                   CRC32 of everything before it, int
+// Opening reads the summary plus the log past the length it covers, which
+// compaction keeps under COMPACT_RUNS records, so startup doesn't grow with
+// the history. Without a usable summary the whole log is folded instead.
+//
+// record() updates the in-memory index right away and leaves the file work
+// to one background writer thread, so finishing a run never waits on disk.
+// After a failed write nothing more is written this session, so the log
+// never gets a gap that would read back as empty runs.
+// Runs with the cheat on, or continued from a save state or a rewind, count
+// towards the totals but not the top list.
+class StatsStore {
+    static final int LOG_MAGIC = 0x4654534C;     // "FTSL"
+    static final int SUMMARY_MAGIC = 0x46545355; // "FTSU"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 5;
+    static final int RECORD_BYTES = 29;
+    static final int SUMMARY_FIXED_BYTES = HEADER_BYTES + 5 * 8 + 4;
+    static final int TOP_RUNS = 10;
+    static final int COMPACT_RUNS = 32; // log records past the summary that trigger a compaction
+
+    // Run flag bits
+    static final int WON = 1, CHEAT = 2, RESTORED = 4;
+
+    static class Run {
+        final long endedAt;   // wall clock millis
+        final long seed;
+        final int ticks, score, kills;
+        final boolean won, cheat;
+        final boolean restored; // loaded or rewound at some point
+
+        Run(long endedAt, long seed, int ticks, int score, int kills, boolean won, boolean cheat, boolean restored) {
+            this.endedAt = endedAt;
+            this.seed = seed;
+            this.ticks = ticks;
+            this.score = score;
+            this.kills = kills;
+            this.won = won;
+            this.cheat = cheat;
+            this.restored = restored;
+        }
+
+        void write(ByteBuffer out) {
+            out.putLong(endedAt).putLong(seed).putInt(ticks).putInt(score).putInt(kills)
+               .put((byte) ((won ? WON : 0) | (cheat ? CHEAT : 0) | (restored ? RESTORED : 0)));
+        }
+
+        static Run read(ByteBuffer in) {
+            long endedAt = in.getLong(), seed = in.getLong();
+            int ticks = in.getInt(), score = in.getInt(), kills = in.getInt();
+            int flags = in.get();
+            return new Run(endedAt, seed, ticks, score, kills, (flags & WON) != 0, (flags & CHEAT) != 0,
+                           (flags & RESTORED) != 0);
+        }
+    }
+
+    private final Path logFile, summaryFile;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "stats-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // In-memory index, guarded by this
+    private final ArrayList<Run> top = new ArrayList<>(); // best score first, earlier run first on ties
+    private long runs, wins, ticks, kills;
+    private long logBytes;      // whole records in the log, where the next one goes
+    private long coveredBytes;  // log length folded into the summary file
+    private boolean closed = false;
+    private volatile boolean broken = false; // a write failed, the files are left as they are
+
+    private StatsStore(Path directory) {
+        logFile = directory.resolve("runs.ftsl");
+        summaryFile = directory.resolve("summary.ftsu");
+    }
+
+    // Loads the store in directory, which is created on the first write.
+    // Unreadable files are reported and the store starts empty; a log with a
+    // foreign header is never written to.
+    static StatsStore open(Path directory) throws IOException {
+        StatsStore store = new StatsStore(directory);
+        store.load();
+        store.writer.execute(() -> { }); // starts the thread now instead of on the first run
+        Runtime.getRuntime().addShutdownHook(new Thread(store::close, "stats-close"));
+        return store;
+    }
+
+    private void load() throws IOException {
+        long logLength = Files.exists(logFile) ? Files.size(logFile) : 0;
+        if (logLength > 0 && logLength < HEADER_BYTES) logLength = 0; // torn header, rewritten on the next run
+        if (logLength > 0) {
+            ByteBuffer header = readBytes(logFile, 0, HEADER_BYTES);
+            if (header.getInt() != LOG_MAGIC || header.get() != VERSION) throw new IOException(logFile + " is not a stats log");
+        }
+        // A torn last record from a crash is dropped and overwritten by the next run
+        logBytes = logLength == 0 ? 0 : HEADER_BYTES + (logLength - HEADER_BYTES) / RECORD_BYTES * RECORD_BYTES;
+
+        coveredBytes = 0;
+        if (Files.exists(summaryFile)) {
+            try {
+                long size = Files.size(summaryFile);
+                if (size > SUMMARY_FIXED_BYTES + TOP_RUNS * RECORD_BYTES + 4) throw new IOException("Stats summary is too large");
+                readSummary(readBytes(summaryFile, 0, size));
+            } catch (IOException e) {
+                System.err.println("Ignoring stats summary, folding the whole log: " + e.getMessage());
+                clearIndex();
+            }
+        }
+        if (coveredBytes > logBytes) {
+            System.err.println("Stats summary is ahead of the log, folding the whole log");
+            clearIndex();
+        }
+
+        long from = Math.max(coveredBytes, HEADER_BYTES);
+        if (logBytes > from) {
+            ByteBuffer tail = readBytes(logFile, from, logBytes - from);
+            while (tail.hasRemaining()) add(Run.read(tail));
+        }
+        if (logBytes - coveredBytes >= (long) COMPACT_RUNS * RECORD_BYTES) compact();
+    }
+
+    private void readSummary(ByteBuffer in) throws IOException {
+        try {
+            if (in.getInt() != SUMMARY_MAGIC) throw new IOException("Not a stats summary");
+            int version = in.get();
+            if (version != VERSION) throw new IOException("Unsupported stats summary version " + version);
+            CRC32 crc = new CRC32();
+            crc.update(in.duplicate().position(0).limit(in.limit() - 4));
+            if ((int) crc.getValue() != in.getInt(in.limit() - 4)) throw new IOException("Stats summary is damaged, checksum mismatch");
+
+            coveredBytes = in.getLong();
+            runs = in.getLong();
+            wins = in.getLong();
+            ticks = in.getLong();
+            kills = in.getLong();
+            int count = in.getInt();
+            if (count < 0 || count > TOP_RUNS) throw new IOException("Bad top run count " + count);
+            for (int i = 0; i < count; i++) top.add(Run.read(in));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Stats summary is truncated", e);
+        }
+    }
+
+    private void clearIndex() {
+        top.clear();
+        runs = wins = ticks = kills = 0;
+        coveredBytes = 0;
+    }
+
+    private static ByteBuffer readBytes(Path file, long position, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) length).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) throw new IOException(file + " ended early");
+            }
+        }
+        return buffer.flip();
+    }
+
+    // Adds a finished run and queues its log append. Safe to call from the
+    // game loop: the caller only pays for the index update. Returns the
+    // run's place in the top list, or -1 when it didn't make it.
+    public synchronized int record(Run run) {
+        if (closed) return -1;
+        int rank = add(run);
+        if (broken) return rank;
+
+        boolean newLog = logBytes == 0;
+        ByteBuffer bytes = ByteBuffer.allocate((newLog ? HEADER_BYTES : 0) + RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        if (newLog) bytes.putInt(LOG_MAGIC).put((byte) VERSION);
+        run.write(bytes);
+        bytes.flip();
+        long position = logBytes;
+        logBytes += bytes.remaining();
+        writer.execute(new Append(bytes, position));
+
+        if (logBytes - coveredBytes >= (long) COMPACT_RUNS * RECORD_BYTES) compact();
+        return rank;
+    }
+
+    private int add(Run run) {
+        runs++;
+        if (run.won) wins++;
+        ticks += run.ticks;
+        kills += run.kills;
+        if (run.cheat || run.restored) return -1;
+        int rank = 0;
+        while (rank < top.size() && top.get(rank).score >= run.score) rank++;
+        if (rank == TOP_RUNS) return -1;
+        top.add(rank, run);
+        if (top.size() > TOP_RUNS) top.remove(TOP_RUNS);
+        return rank;
+    }
+
+    // Queues a summary rewrite covering the log as it is now
+    private void compact() {
+        ByteBuffer summary = ByteBuffer.allocate(SUMMARY_FIXED_BYTES + top.size() * RECORD_BYTES + 4).order(ByteOrder.LITTLE_ENDIAN);
+        summary.putInt(SUMMARY_MAGIC).put((byte) VERSION);
+        summary.putLong(logBytes).putLong(runs).putLong(wins).putLong(ticks).putLong(kills);
+        summary.putInt(top.size());
+        for (Run run : top) run.write(summary);
+        CRC32 crc = new CRC32();
+        crc.update(summary.duplicate().flip());
+        summary.putInt((int) crc.getValue());
+        summary.flip();
+        coveredBytes = logBytes;
+        writer.execute(new SummaryWrite(summary));
+    }
+
+    // Writer thread only from here on. Tasks are classes, not lambdas, so the
+    // game thread doesn't link a lambda when the first run ends.
+
+    private class Append implements Runnable {
+        final ByteBuffer bytes;
+        final long position;
+
+        Append(ByteBuffer bytes, long position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        @Override
+        public void run() {
+            append(bytes, position);
+        }
+    }
+
+    private class SummaryWrite implements Runnable {
+        final ByteBuffer summary;
+
+        SummaryWrite(ByteBuffer summary) {
+            this.summary = summary;
+        }
+
+        @Override
+        public void run() {
+            writeSummary(summary);
+        }
+    }
+
+    // Writes stop at the first failure: the index already counts the lost
+    // record, so a later append at its own position would leave a zero-filled
+    // gap, and a summary would cover bytes the log doesn't have
+    private void append(ByteBuffer bytes, long position) {
+        if (broken) return;
+        try {
+            Files.createDirectories(logFile.getParent());
+            try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                while (bytes.hasRemaining()) channel.write(bytes, position + bytes.position());
+            }
+        } catch (IOException e) {
+            broken = true;
+            System.err.println("Stats write failed, no more runs are saved this session: " + e.getMessage());
+        }
+    }
+
+    // Written next to the summary and moved over it, so a crash leaves
+    // either the old summary or the new one
+    private void writeSummary(ByteBuffer summary) {
+        if (broken) return;
+        Path temp = summaryFile.resolveSibling(summaryFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(summaryFile.getParent());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (summary.hasRemaining()) channel.write(summary);
+                channel.force(true);
+            }
+            Files.move(temp, summaryFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Stats summary write failed: " + e.getMessage());
+        }
+    }
+
+    // Waits until the writes queued so far are done
+    void flush() throws InterruptedException {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Folds the log into the summary and waits briefly for queued writes.
+    // Runs on shutdown; records after it are dropped.
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            if (logBytes > coveredBytes) compact();
+            closed = true;
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public synchronized int bestScore() {
+        return top.isEmpty() ? 0 : top.get(0).score;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d runs, %d wins, best %d, %d kills, %d min played%s", runs, wins, bestScore(), kills,
+                             ticks * GameWorld.TICK_MILLIS / 60_000, broken ? ", not saving" : "");
+    }
+}
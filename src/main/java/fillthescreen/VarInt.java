@@ -0,0 +1,65 @@
+package fillthescreen;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// LEB128 variable-length integers with zig-zag encoding for signed values,
+// so small magnitudes of either sign take a single byte
+class VarInt {
+    public static void write(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    public static long read(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    public static void writeSigned(DataOutput out, long value) throws IOException {
+        write(out, (value << 1) ^ (value >> 63));
+    }
+
+    public static long readSigned(DataInput in) throws IOException {
+        long raw = read(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    // ByteBuffer versions for the network protocol, see ArenaSnapshot
+    public static void write(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    public static long read(ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.get() & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    public static void writeSigned(ByteBuffer out, long value) {
+        write(out, (value << 1) ^ (value >> 63));
+    }
+
+    public static long readSigned(ByteBuffer in) throws IOException {
+        long raw = read(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+}
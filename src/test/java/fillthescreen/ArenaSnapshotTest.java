@@ -0,0 +1,146 @@
+package fillthescreen;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArenaSnapshotTest {
+    // Seeded bot match the player can't lose, so enemies and bullets keep
+    // coming and going
+    private static GameWorld match(long seed) {
+        GameConfig config = new GameConfig();
+        config.playerMaxHealth = 1_000_000;
+        GameWorld world = new GameWorld(seed, config);
+        world.start(seed);
+        return world;
+    }
+
+    private static void play(GameWorld world, BotPlayer bot, GameInput input) {
+        bot.decide(world, input);
+        world.step(input);
+    }
+
+    private static ByteBuffer encode(ArenaSnapshot snapshot, ArenaSnapshot baseline) {
+        ByteBuffer buffer = ByteBuffer.allocate(snapshot.maxEncodedBytes(baseline));
+        snapshot.encode(baseline, buffer);
+        return buffer.flip();
+    }
+
+    // The full encoding covers every field, so equal bytes mean equal snapshots
+    private static void assertSameSnapshot(ArenaSnapshot expected, ArenaSnapshot actual, String message) {
+        assertArrayEquals(full(expected), full(actual), message);
+    }
+
+    private static byte[] full(ArenaSnapshot snapshot) {
+        ByteBuffer buffer = encode(snapshot, null);
+        return Arrays.copyOf(buffer.array(), buffer.limit());
+    }
+
+    // Decodes a delta the way the client does: onto its copy of the baseline,
+    // into a slot still holding an older snapshot
+    private static ArenaSnapshot applyDelta(ArenaSnapshot snapshot, ArenaSnapshot baseline, ArenaSnapshot slot) throws IOException {
+        ArenaSnapshot received = new ArenaSnapshot();
+        received.copyFrom(baseline);
+        ByteBuffer delta = encode(snapshot, received);
+        assertEquals(baseline.tick, ArenaSnapshot.peekBaseline(delta));
+        slot.decode(delta, received);
+        assertFalse(delta.hasRemaining());
+        return slot;
+    }
+
+    @Test
+    void deltaOnItsBaselineRebuildsTheFullSnapshot() throws Exception {
+        GameWorld world = match(4);
+        BotPlayer bot = new BotPlayer();
+        GameInput input = new GameInput();
+        ArenaSnapshot[] history = new ArenaSnapshot[ArenaServer.HISTORY];
+        for (int i = 0; i < history.length; i++) history[i] = new ArenaSnapshot();
+        ArenaSnapshot slot = new ArenaSnapshot();
+
+        int mostEnemies = 0;
+        for (long tick = 1; tick <= 600; tick++) {
+            play(world, bot, input);
+            assertTrue(world.running);
+            ArenaSnapshot snapshot = history[(int) (tick % history.length)];
+            snapshot.capture(world, tick, 1);
+            mostEnemies = Math.max(mostEnemies, snapshot.enemies.count);
+
+            // The last tick, a few back and the oldest the server still keeps
+            for (long back : new long[] {1, 7, history.length - 1}) {
+                if (tick - back < 1) continue;
+                ArenaSnapshot baseline = history[(int) ((tick - back) % history.length)];
+                assertSameSnapshot(snapshot, applyDelta(snapshot, baseline, slot), "tick " + tick + " against " + (tick - back));
+            }
+            ArenaSnapshot decoded = new ArenaSnapshot();
+            decoded.decode(encode(snapshot, null), null);
+            assertSameSnapshot(snapshot, decoded, "full tick " + tick);
+        }
+        assertTrue(mostEnemies > 0);
+    }
+
+    @Test
+    void deltaAcrossAMatchRestartRebuildsTheFullSnapshot() throws Exception {
+        GameWorld world = match(6);
+        BotPlayer bot = new BotPlayer();
+        GameInput input = new GameInput();
+        for (int i = 0; i < 400; i++) play(world, bot, input);
+        ArenaSnapshot last = new ArenaSnapshot();
+        last.capture(world, 400, 1);
+        assertTrue(last.enemies.count > 0);
+
+        // Ids start over, so the new match reuses ids the baseline holds
+        // for other entities
+        world.start(7);
+        ArenaSnapshot first = new ArenaSnapshot();
+        ArenaSnapshot slot = new ArenaSnapshot();
+        slot.copyFrom(last);
+        for (long tick = 401; tick <= 500; tick++) {
+            play(world, bot, input);
+            ArenaSnapshot snapshot = new ArenaSnapshot();
+            snapshot.capture(world, tick, 1);
+            assertSameSnapshot(snapshot, applyDelta(snapshot, last, slot), "tick " + tick);
+            if (tick == 401) first.copyFrom(snapshot);
+        }
+
+        // What the server sends after nextMatch: the new match's first tick in
+        // full, then deltas against that
+        ArenaSnapshot decoded = new ArenaSnapshot();
+        decoded.copyFrom(last);
+        decoded.decode(encode(first, null), null);
+        assertSameSnapshot(first, decoded, "full first tick");
+        ArenaSnapshot snapshot = new ArenaSnapshot();
+        snapshot.capture(world, 501, 1);
+        assertSameSnapshot(snapshot, applyDelta(snapshot, decoded, new ArenaSnapshot()), "tick 501");
+    }
+
+    @Test
+    void deltaNeedsTheBaselineItNames() {
+        GameWorld world = match(8);
+        BotPlayer bot = new BotPlayer();
+        GameInput input = new GameInput();
+        ArenaSnapshot baseline = new ArenaSnapshot();
+        for (int i = 0; i < 200; i++) play(world, bot, input);
+        baseline.capture(world, 200, 1);
+        for (int i = 0; i < 10; i++) play(world, bot, input);
+        ArenaSnapshot snapshot = new ArenaSnapshot();
+        snapshot.capture(world, 210, 1);
+        ByteBuffer delta = encode(snapshot, baseline);
+
+        assertThrows(IOException.class, () -> new ArenaSnapshot().decode(delta.duplicate(), null));
+        // A slot the server reset in nextMatch no longer names any tick
+        ArenaSnapshot reset = new ArenaSnapshot();
+        reset.copyFrom(baseline);
+        reset.tick = -1;
+        assertThrows(IOException.class, () -> new ArenaSnapshot().decode(delta.duplicate(), reset));
+
+        // Right tick, wrong contents: rejected rather than decoded into garbage
+        ArenaSnapshot stale = new ArenaSnapshot();
+        stale.copyFrom(snapshot);
+        stale.tick = 200;
+        assertThrows(IOException.class, () -> new ArenaSnapshot().decode(delta.duplicate(), stale));
+    }
+}
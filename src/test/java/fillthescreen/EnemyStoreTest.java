@@ -0,0 +1,78 @@
+package fillthescreen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnemyStoreTest {
+    @Test
+    void handlesFollowEnemiesAcrossCompact() {
+        EnemyStore enemies = new EnemyStore(GameWorld.ENEMY_SIZE, GameWorld.ENEMY_SIZE);
+        int[] handles = new int[100];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = enemies.handle(enemies.add(i, 2 * i));
+        }
+        for (int i = 0; i < handles.length; i += 3) enemies.remove(enemies.indexOf(handles[i]));
+        enemies.compact();
+
+        assertEquals(66, enemies.size());
+        for (int i = 0; i < handles.length; i++) {
+            int index = enemies.indexOf(handles[i]);
+            if (i % 3 == 0) {
+                assertEquals(-1, index, "removed enemy " + i);
+            } else {
+                assertEquals(i, enemies.x[index]);
+                assertEquals(2 * i, enemies.y[index]);
+                assertEquals(handles[i], enemies.handle(index));
+            }
+        }
+    }
+
+    @Test
+    void reusedSlotsDoNotResolveOldHandles() {
+        EnemyStore enemies = new EnemyStore(GameWorld.ENEMY_SIZE, GameWorld.ENEMY_SIZE);
+        int first = enemies.handle(enemies.add(1, 1));
+        enemies.remove(enemies.indexOf(first));
+        enemies.compact();
+        int second = enemies.handle(enemies.add(2, 2));
+
+        assertNotEquals(first, second);
+        assertEquals(-1, enemies.indexOf(first));
+        assertEquals(2, enemies.x[enemies.indexOf(second)]);
+
+        enemies.clear();
+        assertEquals(-1, enemies.indexOf(second));
+        assertEquals(-1, enemies.indexOf(-1));
+    }
+
+    @Test
+    void removedEntriesKeepIndicesUntilCompact() {
+        EnemyStore enemies = new EnemyStore(GameWorld.ENEMY_SIZE, GameWorld.ENEMY_SIZE);
+        for (int i = 0; i < 5; i++) enemies.add(i, 0);
+        enemies.remove(1);
+        enemies.remove(3);
+
+        assertEquals(5, enemies.size());
+        assertTrue(enemies.removed(1));
+        assertFalse(enemies.removed(2));
+        assertEquals(2, enemies.x[2]);
+
+        enemies.compact();
+        assertEquals(3, enemies.size());
+        assertArrayEquals(new int[] {0, 2, 4}, Arrays.copyOf(enemies.x, 3));
+    }
+
+    @Test
+    void tooManyLiveEnemiesFailLoudly() {
+        EnemyStore enemies = new EnemyStore(1, 1);
+        for (int i = 0; i <= EnemyStore.SLOT_MASK; i++) enemies.add(0, 0);
+        assertThrows(IllegalStateException.class, () -> enemies.add(0, 0));
+        assertEquals(EnemyStore.SLOT_MASK + 1, enemies.size());
+
+        // A freed slot makes room again
+        enemies.remove(0);
+        enemies.add(0, 0);
+    }
+}
@@ -0,0 +1,64 @@
+package fillthescreen;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayTest {
+    // Records a seeded bot match the way the game does, with a stretch of
+    // throttled spawns and a particle cap change so every mask bit is used.
+    // Returns the finished world; the recording is in out.
+    private static GameWorld recordMatch(long seed, ByteArrayOutputStream out, boolean finish) throws Exception {
+        GameWorld world = new GameWorld(seed);
+        world.start(seed);
+        InputRecorder recorder = new InputRecorder(out, seed, world);
+        BotPlayer bot = new BotPlayer();
+        GameInput input = new GameInput();
+        while (world.running && world.tickCount < 20_000) {
+            bot.decide(world, input);
+            input.throttleSpawns = world.tickCount >= 100 && world.tickCount < 160;
+            input.explosionParticles = world.tickCount < 200 ? GameWorld.EXPLOSION_PARTICLES : 6;
+            recorder.record(input);
+            world.step(input);
+        }
+        if (finish) {
+            recorder.finish(world);
+        } else {
+            recorder.close();
+        }
+        return world;
+    }
+
+    @Test
+    void replayEndsWithTheRecordedTicksAndHash() throws Exception {
+        for (long seed : new long[] {1, 2, 3}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            GameWorld recorded = recordMatch(seed, out, true);
+            assertFalse(recorded.running, "seed " + seed);
+
+            Replay.Result result = Replay.run(new ByteArrayInputStream(out.toByteArray()));
+            assertTrue(result.complete);
+            assertEquals(recorded.tickCount, result.expectedTicks);
+            assertEquals(recorded.tickCount, result.ticks, "seed " + seed);
+            assertEquals(recorded.stateHash(), result.world.stateHash(), "seed " + seed);
+            assertTrue(result.matches());
+        }
+    }
+
+    @Test
+    void cutShortRecordingReplaysWhatIsThere() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameWorld recorded = recordMatch(1, out, false);
+
+        // Lose the tail as if the window was closed mid-match
+        byte[] bytes = out.toByteArray();
+        Replay.Result result = Replay.run(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertFalse(result.complete);
+        assertFalse(result.matches());
+        assertTrue(result.ticks > 0 && result.ticks <= recorded.tickCount);
+    }
+}
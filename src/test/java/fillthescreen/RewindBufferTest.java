@@ -0,0 +1,85 @@
+package fillthescreen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RewindBufferTest {
+    // State hash at every tick the buffer snapshots
+    private final Map<Long, Long> hashes = new HashMap<>();
+
+    // Seeded bot match that can't end, so every step advances the tick
+    private static GameWorld endlessMatch() {
+        GameConfig config = new GameConfig();
+        config.playerMaxHealth = 1_000_000;
+        config.bossHealth = 1_000_000;
+        GameWorld world = new GameWorld(3, config);
+        world.start(3);
+        return world;
+    }
+
+    private void play(GameWorld world, RewindBuffer rewind, int ticks) {
+        BotPlayer bot = new BotPlayer();
+        GameInput input = new GameInput();
+        for (int i = 0; i < ticks; i++) {
+            bot.decide(world, input);
+            world.step(input);
+            assertTrue(world.running);
+            rewind.capture(world);
+            if (world.tickCount % RewindBuffer.INTERVAL_TICKS == 0) hashes.put(world.tickCount, world.stateHash());
+        }
+    }
+
+    @Test
+    void rewindStepsBackOneSnapshotAtATime() throws Exception {
+        GameWorld world = endlessMatch();
+        RewindBuffer rewind = new RewindBuffer();
+        play(world, rewind, 200);
+        assertEquals(6, rewind.size());
+
+        GameWorld target = new GameWorld();
+        long tick = world.tickCount;
+        for (long expected = 180; expected >= 30; expected -= 30) {
+            assertTrue(rewind.rewind(tick, target));
+            assertEquals(expected, target.tickCount);
+            assertEquals(hashes.get(expected), target.stateHash());
+            tick = target.tickCount;
+        }
+        assertFalse(rewind.rewind(tick, target));
+        assertEquals(0, rewind.size());
+    }
+
+    @Test
+    void snapshotOfTheCurrentTickIsSkipped() throws Exception {
+        GameWorld world = endlessMatch();
+        RewindBuffer rewind = new RewindBuffer();
+        play(world, rewind, 90);
+
+        GameWorld target = new GameWorld();
+        assertTrue(rewind.rewind(world.tickCount, target));
+        assertEquals(60, target.tickCount);
+        assertEquals(1, rewind.size());
+    }
+
+    @Test
+    void ringKeepsTheNewestSnapshots() throws Exception {
+        GameWorld world = endlessMatch();
+        RewindBuffer rewind = new RewindBuffer();
+        play(world, rewind, 700);
+        assertEquals(RewindBuffer.CAPACITY, rewind.size());
+
+        // Captured 30..690, the three oldest were overwritten
+        GameWorld target = new GameWorld();
+        long oldest = -1;
+        while (rewind.rewind(world.tickCount, target)) oldest = target.tickCount;
+        assertEquals(120, oldest);
+        assertEquals(hashes.get(120L), target.stateHash());
+
+        play(world, rewind, 30);
+        rewind.clear();
+        assertFalse(rewind.rewind(world.tickCount, target));
+    }
+}
@@ -0,0 +1,119 @@
+package fillthescreen;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveStateTest {
+    @TempDir
+    Path dir;
+
+    // Seeded bot match a few waves in, with enemies, bullets and particles
+    // in flight. The player can't fall, so the match is still running.
+    private static GameWorld midMatch() {
+        GameConfig config = new GameConfig();
+        config.playerMaxHealth = 1_000_000;
+        GameWorld world = new GameWorld(5, config);
+        world.start(5);
+        play(world, 600);
+        assertTrue(world.running);
+        assertTrue(world.enemies.size() > 0 && world.particles.size() > 0);
+        return world;
+    }
+
+    private static void play(GameWorld world, int ticks) {
+        BotPlayer bot = new BotPlayer();
+        GameInput input = new GameInput();
+        for (int i = 0; i < ticks && world.running; i++) {
+            bot.decide(world, input);
+            world.step(input);
+        }
+    }
+
+    private static byte[] encoded(GameWorld world) {
+        ByteBuffer buffer = SaveState.encode(world);
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    @Test
+    void restoredWorldMatchesAndPlaysOnTheSame() throws Exception {
+        GameWorld world = midMatch();
+        ByteBuffer bytes = SaveState.encode(world);
+        GameWorld restored = new GameWorld();
+        SaveState.read(bytes, restored);
+
+        assertFalse(bytes.hasRemaining());
+        assertEquals(world.tickCount, restored.tickCount);
+        assertEquals(world.stateHash(), restored.stateHash());
+
+        play(world, 300);
+        play(restored, 300);
+        assertEquals(world.tickCount, restored.tickCount);
+        assertEquals(world.stateHash(), restored.stateHash());
+    }
+
+    @Test
+    void fileRoundTripCanBeOverwritten() throws Exception {
+        GameWorld world = midMatch();
+        Path file = dir.resolve("quicksave.ftss");
+        SaveState.writeFile(SaveState.encode(world), file);
+        GameWorld loaded = new GameWorld();
+        SaveState.load(file, loaded);
+        assertEquals(world.stateHash(), loaded.stateHash());
+
+        // The next save goes over the file that was just loaded
+        play(world, 100);
+        SaveState.writeFile(SaveState.encode(world), file);
+        SaveState.load(file, loaded);
+        assertEquals(world.stateHash(), loaded.stateHash());
+    }
+
+    @Test
+    void damagedSnapshotsAreRejectedBeforeTouchingTheWorld() throws Exception {
+        byte[] bytes = encoded(midMatch());
+        GameWorld target = new GameWorld(1);
+        target.start(1);
+        long untouched = target.stateHash();
+
+        // Every byte, render-only fields included
+        for (int i = 0; i < bytes.length; i++) {
+            byte[] damaged = bytes.clone();
+            damaged[i] ^= 0x41;
+            assertThrows(IOException.class, () -> SaveState.read(ByteBuffer.wrap(damaged), target), "byte " + i);
+        }
+        for (int length = 0; length < bytes.length; length += 7) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertThrows(IOException.class, () -> SaveState.read(ByteBuffer.wrap(truncated), target), "length " + length);
+        }
+        assertEquals(untouched, target.stateHash());
+    }
+
+    @Test
+    void otherVersionsAreRejected() {
+        byte[] bytes = encoded(midMatch());
+        bytes[4] = SaveState.VERSION - 1;
+        IOException e = assertThrows(IOException.class, () -> SaveState.read(ByteBuffer.wrap(bytes), new GameWorld()));
+        assertTrue(e.getMessage().contains("version"), e.getMessage());
+    }
+
+    @Test
+    void damagedFileIsRejected() throws Exception {
+        Path file = dir.resolve("damaged.ftss");
+        byte[] bytes = encoded(midMatch());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> SaveState.load(file, new GameWorld()));
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+        assertThrows(IOException.class, () -> SaveState.load(file, new GameWorld()));
+    }
+}
@@ -0,0 +1,128 @@
+package fillthescreen;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsStoreTest {
+    @TempDir
+    Path dir;
+
+    // 100 runs, every tenth with the cheat on, so the store has compacted
+    // a few times and still has a log tail past the summary
+    private String recordRuns(StatsStore store) {
+        Random random = new Random(3);
+        int best = 0;
+        for (int i = 0; i < 100; i++) {
+            int score = random.nextInt(5000);
+            boolean cheat = i % 10 == 0;
+            if (!cheat) best = Math.max(best, score);
+            store.record(new StatsStore.Run(i, i, 500, score, 10, random.nextBoolean(), cheat, false));
+        }
+        assertEquals(best, store.bestScore());
+        return store.toString();
+    }
+
+    // Totals of the store in directory as a fresh open sees them
+    private static String reopen(Path directory) throws Exception {
+        StatsStore store = StatsStore.open(directory);
+        String totals = store.toString();
+        store.close();
+        return totals;
+    }
+
+    private long logSize() throws Exception {
+        return Files.size(dir.resolve("runs.ftsl"));
+    }
+
+    @Test
+    void reopenedStoreHasTheSameTotals() throws Exception {
+        StatsStore store = StatsStore.open(dir);
+        String totals = recordRuns(store);
+        store.close();
+
+        assertEquals(StatsStore.HEADER_BYTES + 100 * StatsStore.RECORD_BYTES, logSize());
+        assertEquals(totals, reopen(dir));
+    }
+
+    @Test
+    void tornTailIsDroppedAndOverwritten() throws Exception {
+        StatsStore store = StatsStore.open(dir);
+        recordRuns(store);
+        store.close();
+        try (FileChannel channel = FileChannel.open(dir.resolve("runs.ftsl"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[7]), channel.size());
+        }
+
+        store = StatsStore.open(dir);
+        assertEquals(0, store.record(new StatsStore.Run(1, 1, 500, 9999, 1, true, false, false)));
+        String totals = store.toString();
+        store.close();
+
+        assertEquals(StatsStore.HEADER_BYTES + 101 * StatsStore.RECORD_BYTES, logSize());
+        assertEquals(totals, reopen(dir));
+        assertTrue(totals.startsWith("101 runs"), totals);
+    }
+
+    @Test
+    void missingOrDamagedSummaryIsRebuiltFromTheLog() throws Exception {
+        StatsStore store = StatsStore.open(dir);
+        String totals = recordRuns(store);
+        store.close();
+
+        Files.delete(dir.resolve("summary.ftsu"));
+        assertEquals(totals, reopen(dir));
+
+        Files.write(dir.resolve("summary.ftsu"), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        assertEquals(totals, reopen(dir));
+    }
+
+    @Test
+    void restoredAndCheatRunsStayOutOfTheTopList() throws Exception {
+        StatsStore store = StatsStore.open(dir);
+        assertEquals(0, store.record(new StatsStore.Run(1, 1, 500, 100, 1, false, false, false)));
+        assertEquals(-1, store.record(new StatsStore.Run(2, 1, 500, 5000, 1, false, false, true)));
+        assertEquals(-1, store.record(new StatsStore.Run(3, 2, 500, 6000, 1, true, true, false)));
+        assertEquals(100, store.bestScore());
+        store.close();
+
+        String totals = reopen(dir);
+        assertTrue(totals.startsWith("3 runs, 1 wins, best 100,"), totals);
+    }
+
+    @Test
+    void failedWriteStopsAppending() throws Exception {
+        Path stats = dir.resolve("stats");
+        StatsStore store = StatsStore.open(stats);
+        store.record(new StatsStore.Run(1, 1, 500, 100, 1, false, false, false));
+        store.flush();
+        assertEquals(StatsStore.HEADER_BYTES + StatsStore.RECORD_BYTES, Files.size(stats.resolve("runs.ftsl")));
+
+        // A plain file where the directory was makes the next append fail
+        Path moved = dir.resolve("moved");
+        Files.move(stats, moved);
+        Files.createFile(stats);
+        store.record(new StatsStore.Run(2, 2, 500, 200, 1, false, false, false));
+        store.flush();
+        Files.delete(stats);
+        Files.move(moved, stats);
+
+        // Without the failed record this one would land past a zero-filled gap
+        store.record(new StatsStore.Run(3, 3, 500, 300, 1, false, false, false));
+        store.flush();
+        assertTrue(store.toString().endsWith("not saving"), store.toString());
+        store.close();
+
+        assertEquals(StatsStore.HEADER_BYTES + StatsStore.RECORD_BYTES, Files.size(stats.resolve("runs.ftsl")));
+        String totals = reopen(stats);
+        assertTrue(totals.startsWith("1 runs, 0 wins, best 100,"), totals);
+    }
+}
@@ -0,0 +1,67 @@
+package fillthescreen;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VarIntTest {
+    static final long[] SIGNED = {
+        0, 1, -1, 63, -64, 64, -65, 8191, -8192, 123_456, -123_456,
+        Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE + 1L, Integer.MIN_VALUE - 1L,
+        Long.MAX_VALUE, Long.MIN_VALUE
+    };
+
+    @Test
+    void zigZagRoundTripsThroughStreams() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (long value : SIGNED) VarInt.writeSigned(out, value);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (long value : SIGNED) assertEquals(value, VarInt.readSigned(in));
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    void zigZagRoundTripsThroughBuffers() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SIGNED.length * 10);
+        for (long value : SIGNED) VarInt.writeSigned(buffer, value);
+
+        buffer.flip();
+        for (long value : SIGNED) assertEquals(value, VarInt.readSigned(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void smallMagnitudesOfEitherSignTakeOneByte() {
+        assertEquals(1, signedLength(63));
+        assertEquals(1, signedLength(-64));
+        assertEquals(2, signedLength(64));
+        assertEquals(2, signedLength(-65));
+        assertEquals(5, signedLength(Integer.MAX_VALUE));
+        assertEquals(5, signedLength(Integer.MIN_VALUE));
+        assertEquals(10, signedLength(Long.MIN_VALUE));
+    }
+
+    private static int signedLength(long value) {
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        VarInt.writeSigned(buffer, value);
+        return buffer.position();
+    }
+
+    @Test
+    void overlongVarIntIsMalformed() {
+        byte[] bytes = new byte[11];
+        Arrays.fill(bytes, (byte) 0x80);
+        assertThrows(IOException.class, () -> VarInt.read(ByteBuffer.wrap(bytes)));
+        assertThrows(IOException.class, () -> VarInt.read(new DataInputStream(new ByteArrayInputStream(bytes))));
+    }
+}